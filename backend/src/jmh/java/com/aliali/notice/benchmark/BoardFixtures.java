@@ -0,0 +1,50 @@
+package com.aliali.notice.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import com.aliali.notice.config.SiteFixtures;
+import com.aliali.notice.entity.Site;
+
+/**
+ * 벤치마크용 게시판 HTML fixture (src/jmh/resources/fixtures)
+ *
+ * SiteInitializer 의 사이트들은 모두 K2Web 게시판(a.b-title)을 사용하며, 레이아웃은 세 가지로 나뉜다.
+ * - catholic_notice     : 대학 포털 공지 (공지 고정글 3개 + 일반글)
+ * - department          : 학과 사이트 공지 (articleNo 가 href 에 있음)
+ * - department_fallback : 학과 사이트 공지 중 href 가 javascript: 인 게시판 (번호 추출이 fallback 경로를 탐)
+ */
+final class BoardFixtures {
+
+    static final String CATHOLIC_NOTICE = "catholic_notice";
+    static final String DEPARTMENT = "department";
+    static final String DEPARTMENT_FALLBACK = "department_fallback";
+
+    private BoardFixtures() {}
+
+    static String html(String layout) {
+        try (InputStream in = BoardFixtures.class.getResourceAsStream("/fixtures/" + layout + ".html")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown fixture layout: " + layout);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 레이아웃을 대표하는 SiteInitializer 설정의 사이트
+     */
+    static Site site(String layout) {
+        String siteId = switch (layout) {
+            case CATHOLIC_NOTICE -> "catholic_notice";
+            case DEPARTMENT -> "dept_computer_info";
+            case DEPARTMENT_FALLBACK -> "dept_japanese";
+            default -> throw new IllegalArgumentException("Unknown fixture layout: " + layout);
+        };
+        return SiteFixtures.site(siteId);
+    }
+}
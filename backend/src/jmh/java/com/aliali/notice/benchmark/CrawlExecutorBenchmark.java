@@ -0,0 +1,129 @@
+package com.aliali.notice.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aliali.notice.config.CrawlerExecutorConfig;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 크롤링 Executor 비교 (fixed 스레드 풀 vs virtual 스레드)
+ * 로컬 HTTP 스텁이 latencyMillis 만큼 지연 후 게시판 HTML 을 응답하고,
+ * 한 사이클에서 sites 개의 페이지를 모두 가져오는 데 걸리는 시간을 측정한다.
+ * 두 모드 모두 동시 요청 수를 같은 세마포어(concurrentLimit)로 제한해 스레드 모델의 차이만 비교한다.
+ *
+ * 실행: mvn -Pbenchmark compile exec:exec -Djmh.args="CrawlExecutorBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CrawlExecutorBenchmark {
+
+    @Param({CrawlerExecutorConfig.MODE_FIXED, CrawlerExecutorConfig.MODE_VIRTUAL})
+    public String executor;
+
+    @Param({"48", "480"})
+    public int sites;
+
+    @Param({"100"})
+    public int latencyMillis;
+
+    // 동시 요청 수 (crawler.concurrent-limit, fixed 모드의 풀 크기이자 두 모드 공통 세마포어 크기)
+    @Param({"10", "50"})
+    public int concurrentLimit;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService crawlExecutor;
+    private Semaphore permits;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void startStub() throws IOException {
+        byte[] page = BoardFixtures.html(BoardFixtures.DEPARTMENT).getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/board/";
+
+        // 운영과 같이 두 모드 모두 concurrentLimit 개의 세마포어로 동시성을 제한
+        crawlExecutor = CrawlerExecutorConfig.createExecutor(executor, concurrentLimit, "bench-");
+        permits = new Semaphore(concurrentLimit);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStub() {
+        crawlExecutor.shutdownNow();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int crawlCycle() throws InterruptedException {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(sites);
+        for (int i = 0; i < sites; i++) {
+            String url = baseUrl + i;
+            permits.acquire();
+            futures.add(CompletableFuture.supplyAsync(() -> fetch(url), crawlExecutor)
+                    .whenComplete((rows, e) -> permits.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        int rows = 0;
+        for (CompletableFuture<Integer> future : futures) {
+            rows += future.join();
+        }
+        return rows;
+    }
+
+    private int fetch(String url) {
+        try {
+            Document doc = Jsoup.connect(url).timeout(10000).get();
+            return doc.select("a.b-title").size();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.aliali.notice.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.aliali.notice.entity.Site;
+import com.aliali.notice.service.ExtractionPlanCache;
+import com.aliali.notice.service.NoticeParser;
+import com.aliali.notice.service.SiteExtractionPlan;
+
+/**
+ * 게시물 한 행당 번호 추출 + 중요도 판단 비용 비교
+ * legacy: 행마다 Pattern.compile / String.matches 를 호출하던 기존 방식
+ * plan  : 사이트별로 미리 컴파일한 SiteExtractionPlan 사용
+ *
+ * 실행: mvn -Pbenchmark compile exec:exec -Djmh.args="ExtractionPlanBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractionPlanBenchmark {
+
+    private static final int ROWS = 10;
+
+    @Param({BoardFixtures.CATHOLIC_NOTICE, BoardFixtures.DEPARTMENT_FALLBACK})
+    public String layout;
+
+    private Site site;
+    private List<Element> rows;
+    private NoticeParser parser;
+    private SiteExtractionPlan plan;
+
+    @Setup
+    public void setUp() {
+        site = BoardFixtures.site(layout);
+        Document doc = Jsoup.parse(BoardFixtures.html(layout), site.getUrl());
+        rows = doc.select(site.getSelector()).subList(0, ROWS);
+
+        parser = new NoticeParser(new ExtractionPlanCache(), ROWS);
+        plan = parser.planFor(site);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacy(Blackhole bh) {
+        for (Element row : rows) {
+            String articleNo = LegacyExtraction.extractPostNumber(row);
+            bh.consume(articleNo);
+            bh.consume(LegacyExtraction.determineImportance(row, articleNo, row.text()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void plan(Blackhole bh) {
+        for (Element row : rows) {
+            String articleNo = parser.extractPostNumber(row, site, plan);
+            bh.consume(articleNo);
+            bh.consume(parser.determineImportance(row, articleNo, row.text()));
+        }
+    }
+
+    /**
+     * SiteExtractionPlan 도입 이전 CrawlerService 의 추출 로직
+     */
+    static final class LegacyExtraction {
+
+        static String extractPostNumber(Element element) {
+            String articleNo = element.attr("data-article-no");
+            if (!articleNo.isEmpty()) {
+                return articleNo;
+            }
+
+            Element link = element.selectFirst("a");
+            if (link != null) {
+                String href = link.attr("href");
+                if (!href.isEmpty()) {
+                    String[] patterns = {"[?&](?:no|articleNo|seq|num|id)=(\\d+)", "/(\\d+)(?:\\?|$|\\.html)", "article/(\\d+)"};
+                    for (String pattern : patterns) {
+                        java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern, java.util.regex.Pattern.CASE_INSENSITIVE);
+                        java.util.regex.Matcher m = p.matcher(href);
+                        if (m.find()) {
+                            return m.group(1);
+                        }
+                    }
+                }
+            }
+
+            Element numberCell = element.selectFirst(".td-num, .num, td:first-child");
+            if (numberCell != null) {
+                java.util.regex.Matcher m = java.util.regex.Pattern.compile("\\d+").matcher(numberCell.text().trim());
+                if (m.find()) {
+                    return m.group();
+                }
+            }
+
+            java.util.regex.Matcher m = java.util.regex.Pattern.compile("(\\d{4,})").matcher(element.text());
+            return m.find() ? m.group(1) : null;
+        }
+
+        static boolean determineImportance(Element element, String articleNo, String title) {
+            if (articleNo == null || !articleNo.matches("\\d+")) {
+                return true;
+            }
+            String[] importantKeywords = {"중요", "긴급", "공지", "[공지]", "[중요]", "[필독]", "필독"};
+            String lowerTitle = title.toLowerCase();
+            for (String keyword : importantKeywords) {
+                if (lowerTitle.contains(keyword.toLowerCase())) {
+                    return true;
+                }
+            }
+            return element.select(".notice, .important, .urgent").size() > 0 ||
+                   element.hasClass("notice") ||
+                   element.hasClass("important");
+        }
+    }
+}
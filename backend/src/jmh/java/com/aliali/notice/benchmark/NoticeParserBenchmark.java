@@ -0,0 +1,116 @@
+package com.aliali.notice.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.aliali.notice.entity.Site;
+import com.aliali.notice.service.ExtractionPlanCache;
+import com.aliali.notice.service.NoticeParser;
+import com.aliali.notice.service.SiteExtractionPlan;
+
+/**
+ * 크롤러 파싱 hot path 벤치마크 (게시판 레이아웃별 fixture 사용)
+ * 행 단위 벤치마크는 한 페이지의 모든 행을 처리하는 것을 1 op 으로 센다.
+ *
+ * 실행: mvn -Pbenchmark compile exec:exec -Djmh.args="NoticeParserBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoticeParserBenchmark {
+
+    @Param({BoardFixtures.CATHOLIC_NOTICE, BoardFixtures.DEPARTMENT, BoardFixtures.DEPARTMENT_FALLBACK})
+    public String layout;
+
+    private String html;
+    private Site site;
+    private Document document;
+    private List<Element> rows;
+    private List<String> rowTexts;
+    private List<String> articleNos;
+    private NoticeParser parser;
+    private SiteExtractionPlan plan;
+
+    @Setup
+    public void setUp() {
+        html = BoardFixtures.html(layout);
+        site = BoardFixtures.site(layout);
+        document = Jsoup.parse(html, site.getUrl());
+
+        parser = new NoticeParser(new ExtractionPlanCache(), 10);
+        plan = parser.planFor(site);
+        rows = document.select(plan.getRowEvaluator());
+        rowTexts = rows.stream().map(Element::text).toList();
+        articleNos = rows.stream().map(row -> parser.extractPostNumber(row, site, plan)).toList();
+    }
+
+    /**
+     * 응답 본문 → Document → 게시물 목록 (크롤링 1회분)
+     */
+    @Benchmark
+    public Object parseAndExtract() {
+        return parser.parsePosts(Jsoup.parse(html, site.getUrl()), site);
+    }
+
+    /**
+     * 이미 파싱된 Document 에서 게시물 목록 추출
+     */
+    @Benchmark
+    public Object parsePosts() {
+        return parser.parsePosts(document, site);
+    }
+
+    @Benchmark
+    public void extractPostNumber(Blackhole bh) {
+        for (Element row : rows) {
+            bh.consume(parser.extractPostNumber(row, site, plan));
+        }
+    }
+
+    @Benchmark
+    public void extractTitle(Blackhole bh) {
+        for (Element row : rows) {
+            bh.consume(parser.extractTitle(row));
+        }
+    }
+
+    @Benchmark
+    public void extractLink(Blackhole bh) {
+        for (Element row : rows) {
+            bh.consume(parser.extractLink(row, site));
+        }
+    }
+
+    @Benchmark
+    public void determineImportance(Blackhole bh) {
+        for (int i = 0; i < rows.size(); i++) {
+            bh.consume(parser.determineImportance(rows.get(i), articleNos.get(i), rowTexts.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void generateConsistentId(Blackhole bh) {
+        for (String text : rowTexts) {
+            bh.consume(parser.generateConsistentId(text));
+        }
+    }
+}
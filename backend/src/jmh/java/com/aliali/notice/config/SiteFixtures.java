@@ -0,0 +1,18 @@
+package com.aliali.notice.config;
+
+import com.aliali.notice.entity.Site;
+
+/**
+ * 벤치마크용 사이트 설정 (SiteInitializer 의 사이트 구성을 같은 패키지에서 읽음)
+ */
+public final class SiteFixtures {
+
+    private SiteFixtures() {}
+
+    public static Site site(String siteId) {
+        return new SiteInitializer().createSiteConfigurations().stream()
+                .filter(site -> site.getId().equals(siteId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown site: " + siteId));
+    }
+}
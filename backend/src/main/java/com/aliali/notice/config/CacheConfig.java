@@ -0,0 +1,17 @@
+package com.aliali.notice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 조회용 캐시 (Caffeine, 설정은 application.yml 의 spring.cache)
+ * - noticePages: 공지 목록 첫 페이지 (필터 조합별)
+ * 사이트 목록과 전체/사이트별/카테고리별 피드는 FeedSnapshotService 의 스냅샷으로 제공한다.
+ * 크롤링으로 공지가 바뀌면 NoticeReadService 의 evict 메서드로 무효화한다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String NOTICE_PAGES = "noticePages";
+}
@@ -0,0 +1,87 @@
+package com.aliali.notice.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 크롤링/알림 발송/알림 디스패처/공지 스트림용 Executor 설정
+ * crawler.executor=fixed  : 고정 크기 플랫폼 스레드 풀
+ * crawler.executor=virtual: 작업마다 가상 스레드 (동시 실행 수는 세마포어가 제한)
+ */
+@Configuration
+public class CrawlerExecutorConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlerExecutorConfig.class);
+
+    public static final String MODE_FIXED = "fixed";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    @Value("${crawler.executor:fixed}")
+    private String executorMode;
+
+    @Value("${crawler.concurrent-limit:5}")
+    private int concurrentLimit;
+
+    @Value("${notification.concurrent-limit:50}")
+    private int notificationConcurrentLimit;
+
+    @Value("${notification.outbox.dispatch-concurrency:4}")
+    private int dispatchConcurrency;
+
+    @Bean(name = "crawlExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService crawlExecutor() {
+        logger.info("🧵 크롤링 Executor 모드: {} (동시 실행 제한 {})", executorMode, concurrentLimit);
+        return createExecutor(executorMode, concurrentLimit, "crawler-");
+    }
+
+    @Bean(name = "notificationExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService notificationExecutor() {
+        logger.info("🧵 알림 발송 Executor 모드: {} (동시 실행 제한 {})", executorMode, notificationConcurrentLimit);
+        return createExecutor(executorMode, notificationConcurrentLimit, "notifier-");
+    }
+
+    /**
+     * outbox 디스패처 전용 풀 (배치들을 동시에 발송, 발송 작업 안에서 notificationExecutor 를 기다리므로 분리)
+     */
+    @Bean(name = "notificationDispatchExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService notificationDispatchExecutor() {
+        logger.info("🧵 알림 디스패처 Executor 모드: {} (동시 실행 제한 {})", executorMode, dispatchConcurrency);
+        return createExecutor(executorMode, dispatchConcurrency, "notify-dispatch-");
+    }
+
+    /**
+     * 공지 SSE 스트림 전송 (구독자 큐마다 작업 하나, 느린 연결의 블로킹 쓰기가 다른 연결을 막지 않도록 항상 가상 스레드)
+     */
+    @Bean(name = "noticeStreamExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService noticeStreamExecutor() {
+        return createExecutor(MODE_VIRTUAL, 0, "notice-stream-");
+    }
+
+    /**
+     * 모드에 맞는 Executor 생성 (벤치마크에서도 동일한 구성을 사용)
+     */
+    public static ExecutorService createExecutor(String mode, int poolSize, String threadPrefix) {
+        if (MODE_VIRTUAL.equalsIgnoreCase(mode)) {
+            ThreadFactory factory = Thread.ofVirtual().name(threadPrefix + "vt-", 0).factory();
+            return Executors.newThreadPerTaskExecutor(factory);
+        }
+        if (!MODE_FIXED.equalsIgnoreCase(mode)) {
+            logger.warn("알 수 없는 Executor 모드 '{}', fixed 모드로 동작합니다", mode);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, poolSize), runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
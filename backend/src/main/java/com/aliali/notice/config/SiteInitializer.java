@@ -48,7 +48,7 @@ public class SiteInitializer implements CommandLineRunner {
         logger.info("사이트 설정 초기화 완료: {}개 사이트", sites.size());
     }
     
-    private List<Site> createSiteConfigurations() {
+    List<Site> createSiteConfigurations() {
         return Arrays.asList(
             // 대학 공지사항
             createSite("catholic_notice", "가톨릭대학교 공지사항", 
@@ -0,0 +1,139 @@
+package com.aliali.notice.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aliali.notice.service.FeedSnapshotService;
+
+/**
+ * 피드 스냅샷(FeedSnapshotService)을 그대로 내려주는 조회 API
+ * - 클라이언트가 gzip 을 받으면 미리 압축해 둔 바이트를 그대로 보낸다
+ * - If-None-Match 가 현재 ETag 와 같으면 본문 없이 304
+ */
+@RestController
+@CrossOrigin(origins = "*")
+public class FeedController {
+
+    @Autowired
+    private FeedSnapshotService feedSnapshotService;
+
+    @GetMapping("/sites")
+    public ResponseEntity<byte[]> getSites(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(feedSnapshotService.getSites(), ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * 전체 공지 피드 (최신순)
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<byte[]> getFeed(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serve(feedSnapshotService.getFeed(), ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/feed/site/{siteId}")
+    public ResponseEntity<byte[]> getSiteFeed(
+            @PathVariable String siteId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FeedSnapshotService.Entry entry = feedSnapshotService.getFeedBySite(siteId);
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return serve(entry, ifNoneMatch, acceptEncoding);
+    }
+
+    @GetMapping("/feed/category/{category}")
+    public ResponseEntity<byte[]> getCategoryFeed(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        FeedSnapshotService.Entry entry = feedSnapshotService.getFeedByCategory(category);
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return serve(entry, ifNoneMatch, acceptEncoding);
+    }
+
+    private ResponseEntity<byte[]> serve(FeedSnapshotService.Entry entry, String ifNoneMatch, String acceptEncoding) {
+        if (entry == null) {
+            // 스냅샷을 아직 만들지 못함 (DB 오류 등)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? entry.getGzipEtag() : entry.getEtag();
+        boolean notModified = matches(ifNoneMatch, etag);
+
+        // 매번 재검증하되, 바뀌지 않았으면 304 로 본문 전송을 생략
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(0, TimeUnit.SECONDS).cachePublic().mustRevalidate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(entry.getGzip());
+        }
+        return response.body(entry.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 비교 (약한 비교: W/ 접두사는 무시, 여러 값과 * 허용)
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
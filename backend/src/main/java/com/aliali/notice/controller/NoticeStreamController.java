@@ -0,0 +1,53 @@
+package com.aliali.notice.controller;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.aliali.notice.service.NoticeStreamService;
+
+/**
+ * 새 공지 SSE 스트림
+ * siteId 를 여러 번(또는 쉼표로) 지정하면 해당 사이트의 공지만 받는다.
+ * EventSource 는 재연결 시 Last-Event-ID 헤더를 자동으로 보내고, 처음 연결할 때는 lastEventId 파라미터로 줄 수 있다.
+ */
+@RestController
+@CrossOrigin(origins = "*")
+public class NoticeStreamController {
+
+    @Autowired
+    private NoticeStreamService noticeStreamService;
+
+    @GetMapping(path = "/notices/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) List<String> siteId,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+
+        Set<String> siteIds = siteId != null ? new LinkedHashSet<>(siteId) : Set.of();
+        SseEmitter emitter = noticeStreamService.subscribe(siteIds,
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        // 프록시(nginx 등)가 응답을 모아서 보내지 않도록
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(emitter);
+    }
+}
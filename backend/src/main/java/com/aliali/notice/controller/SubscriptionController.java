@@ -21,6 +21,7 @@ import com.aliali.notice.entity.Subscription;
 import com.aliali.notice.repository.SiteRepository;
 import com.aliali.notice.repository.SubscriptionRepository;
 import com.aliali.notice.service.NotificationService;
+import com.aliali.notice.service.SubscriberIndex;
 
 @RestController
 @RequestMapping("/subscriptions")
@@ -36,6 +37,9 @@ public class SubscriptionController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+    
     @PostMapping
     public ResponseEntity<SubscriptionDto> createSubscription(
             @RequestBody CreateSubscriptionRequest request) {
@@ -82,6 +86,7 @@ public class SubscriptionController {
             }
 
             Subscription savedSubscription = subscriptionRepository.save(subscription);
+            subscriberIndex.update(savedSubscription);
             
             // 테스트 알림 전송
             notificationService.sendTestNotification(request.getFcmToken(), request.getDeviceId());
@@ -113,6 +118,7 @@ public class SubscriptionController {
             Subscription subscription = subscriptionOpt.get();
             subscription.setIsActive(false);
             subscriptionRepository.save(subscription);
+            subscriberIndex.remove(subscription.getSite().getId(), subscription.getId());
             
             return ResponseEntity.ok().build();
             
@@ -1,7 +1,7 @@
 package com.aliali.notice.controller;
 
+import com.aliali.notice.dto.NoticeCursor;
 import com.aliali.notice.dto.NoticeDto;
-import com.aliali.notice.dto.SiteDto;
 import com.aliali.notice.dto.SubscriptionDto;
 import com.aliali.notice.entity.Notice;
 import com.aliali.notice.entity.Site;
@@ -9,8 +9,15 @@ import com.aliali.notice.entity.Subscription;
 import com.aliali.notice.repository.NoticeRepository;
 import com.aliali.notice.repository.SiteRepository;
 import com.aliali.notice.repository.SubscriptionRepository;
+import com.aliali.notice.service.AdaptiveCrawlScheduler;
 import com.aliali.notice.service.CrawlerService;
+import com.aliali.notice.service.FeedSnapshotService;
+import com.aliali.notice.service.NoticeFingerprint;
+import com.aliali.notice.service.NoticeOutboxService;
+import com.aliali.notice.service.NoticeReadService;
+import com.aliali.notice.service.NotificationDispatcher;
 import com.aliali.notice.service.NotificationService;
+import com.aliali.notice.service.SubscriberIndex;
 import com.aliali.notice.service.FirebaseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +34,11 @@ import org.slf4j.LoggerFactory;
 @CrossOrigin(origins = "*")
 public class TestController {
     private static final Logger logger = LoggerFactory.getLogger(TestController.class);
+    
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    // 공지 목록 한 페이지 최대 크기
+    private static final int MAX_NOTICE_PAGE_SIZE = 500;
 
     @Autowired
     private SiteRepository siteRepository;
@@ -37,14 +49,32 @@ public class TestController {
     @Autowired
     private CrawlerService crawlerService;
     
+    @Autowired
+    private AdaptiveCrawlScheduler adaptiveCrawlScheduler;
+    
     @Autowired
     private NotificationService notificationService;
     
     @Autowired
     private FirebaseService firebaseService;
     
+    @Autowired
+    private NoticeOutboxService noticeOutboxService;
+    
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+    
     @Autowired
     private SubscriptionRepository subscriptionRepository;
+    
+    @Autowired
+    private NoticeReadService noticeReadService;
+    
+    @Autowired
+    private FeedSnapshotService feedSnapshotService;
 
     @GetMapping("/")
     public ResponseEntity<String> root() {
@@ -56,22 +86,38 @@ public class TestController {
         return ResponseEntity.ok("알리알리 서비스가 정상적으로 작동하고 있습니다!");
     }
     
-    @GetMapping("/sites")
-    public ResponseEntity<List<SiteDto>> getSites() {
-        List<Site> sites = siteRepository.findByEnabledTrue();
-        List<SiteDto> siteDtos = sites.stream()
-                .map(SiteDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(siteDtos);
-    }
-    
+    /**
+     * 공지 목록 (최신순 keyset 페이지네이션)
+     * 다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 돌려준다.
+     */
     @GetMapping("/notices")
-    public ResponseEntity<List<NoticeDto>> getNotices() {
-        List<Notice> notices = noticeRepository.findAll();
-        List<NoticeDto> noticeDtos = notices.stream()
-                .map(NoticeDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(noticeDtos);
+    public ResponseEntity<List<NoticeDto>> getNotices(
+            @RequestParam(required = false) String siteId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean isNew,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        
+        NoticeCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                after = NoticeCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_NOTICE_PAGE_SIZE));
+        
+        // 첫 페이지는 캐시에서 (크롤링으로 공지가 바뀌면 무효화됨)
+        NoticeReadService.NoticePage page = after == null
+                ? noticeReadService.getFirstNoticePage(siteId, category, isNew, pageSize)
+                : noticeReadService.getNoticePage(siteId, category, isNew, after, pageSize);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getNotices());
     }
     
     @PostMapping("/crawl")
@@ -132,15 +178,10 @@ public class TestController {
         // 기존 공지사항들의 isNew 플래그를 false로 리셋
         if ("reset_isnew".equals(action)) {
             try {
-                List<Notice> allNotices = noticeRepository.findAll();
-                int resetCount = 0;
-                for (Notice notice : allNotices) {
-                    if (notice.getIsNew() != null && notice.getIsNew()) {
-                        notice.setIsNew(false);
-                        resetCount++;
-                    }
-                }
-                noticeRepository.saveAll(allNotices);
+                long resetCount = noticeRepository.countNewNotices();
+                siteRepository.advanceAllCrawlGenerations();
+                noticeReadService.evictNotices();
+                feedSnapshotService.publish();
                 return ResponseEntity.ok("기존 공지사항 " + resetCount + "개의 isNew 플래그를 false로 설정했습니다.");
             } catch (Exception e) {
                 return ResponseEntity.internalServerError().body("isNew 플래그 리셋 중 오류: " + e.getMessage());
@@ -156,16 +197,18 @@ public class TestController {
             notice.setTitle(title);
             notice.setUrl("https://test.example.com");
             notice.setExternalId("test-" + System.currentTimeMillis());
+            // 테스트 공지는 URL 이 모두 같으므로 externalId 로 지문을 만든다
+            notice.setFingerprint(NoticeFingerprint.of(site.getId(), null, notice.getExternalId()));
             notice.setSite(site);
             notice.setPublishedAt(LocalDateTime.now());
-            notice.setIsNew(true);
+            notice.setCrawlGeneration(site.getCrawlGeneration());
             
-            noticeRepository.save(notice);
-            
-            // 알림 발송
-            notificationService.sendNotificationForNewNotice(notice);
+            // 저장과 함께 알림 outbox 에 기록 (발송은 NotificationDispatcher 가 처리)
+            noticeOutboxService.saveNoticeWithOutbox(notice);
+            noticeReadService.evictNotices();
+            feedSnapshotService.publish();
             
-            return ResponseEntity.ok("테스트 공지사항이 생성되고 알림이 발송되었습니다: " + title);
+            return ResponseEntity.ok("테스트 공지사항이 생성되고 알림 발송이 예약되었습니다: " + title);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("테스트 공지사항 생성 중 오류가 발생했습니다: " + e.getMessage());
         }
@@ -198,6 +241,7 @@ public class TestController {
             subscription.setIsActive(true);
             
             subscriptionRepository.save(subscription);
+            subscriberIndex.update(subscription);
             
             // 테스트 알림 전송
             notificationService.sendTestNotification(fcmToken, deviceId);
@@ -229,15 +273,11 @@ public class TestController {
     @PostMapping("/reset-isnew")
     public ResponseEntity<String> resetIsNewFlags() {
         try {
-            List<Notice> allNotices = noticeRepository.findAll();
-            int resetCount = 0;
-            for (Notice notice : allNotices) {
-                if (notice.getIsNew() != null && notice.getIsNew()) {
-                    notice.setIsNew(false);
-                    resetCount++;
-                }
-            }
-            noticeRepository.saveAll(allNotices);
+            // 공지 행을 수정하지 않고 사이트 세대만 올린다
+            long resetCount = noticeRepository.countNewNotices();
+            siteRepository.advanceAllCrawlGenerations();
+            noticeReadService.evictNotices();
+            feedSnapshotService.publish();
             return ResponseEntity.ok("기존 공지사항 " + resetCount + "개의 isNew 플래그를 false로 설정했습니다.");
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("isNew 플래그 리셋 중 오류: " + e.getMessage());
@@ -288,6 +328,26 @@ public class TestController {
         }
     }
     
+    /**
+     * 사이트별 적응형 크롤링 주기 확인
+     */
+    @GetMapping("/crawl/schedule")
+    public ResponseEntity<Object> getCrawlSchedule() {
+        return ResponseEntity.ok(adaptiveCrawlScheduler.getScheduleStatus());
+    }
+    
+    /**
+     * 알림 outbox 상태 확인
+     */
+    @GetMapping("/notifications/outbox")
+    public ResponseEntity<Object> getOutboxStatus() {
+        try {
+            return ResponseEntity.ok(notificationDispatcher.getOutboxStatus());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     /**
      * 크롤링 테스트 - 특정 사이트
      */
@@ -318,9 +378,12 @@ public class TestController {
                 return ResponseEntity.notFound().build();
             }
             
+            // 사이트의 현재 세대로 옮기면 다음 크롤링 전까지 새 공지로 표시된다
             Notice notice = noticeOpt.get();
-            notice.setIsNew(true);
+            notice.setCrawlGeneration(notice.getSite().getCrawlGeneration());
             noticeRepository.save(notice);
+            noticeReadService.evictNotices();
+            feedSnapshotService.publish();
             
             logger.info("✅ 공지사항 {}를 isNew=true로 마킹 완료", noticeId);
             return ResponseEntity.ok("공지사항이 새 공지사항으로 마킹되었습니다.");
@@ -0,0 +1,51 @@
+package com.aliali.notice.dto;
+
+import com.aliali.notice.entity.Notice;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 공지 목록 keyset 페이지네이션 커서 (마지막으로 받은 공지의 publishedAt, id)
+ * 클라이언트에는 불투명한 base64url 문자열로 전달한다.
+ */
+public class NoticeCursor {
+    private final LocalDateTime publishedAt;
+    private final Long id;
+    
+    public NoticeCursor(LocalDateTime publishedAt, Long id) {
+        this.publishedAt = publishedAt;
+        this.id = id;
+    }
+    
+    public static NoticeCursor after(Notice notice) {
+        return new NoticeCursor(notice.getPublishedAt(), notice.getId());
+    }
+    
+    public String encode() {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException 형식이 잘못된 커서
+     */
+    public static NoticeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new NoticeCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
@@ -6,7 +6,14 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notices")
+@Table(name = "notices", uniqueConstraints = {
+    // 동시에 실행된 수동/자동 크롤링이 같은 게시물을 중복 저장하지 못하도록 하는 최종 보호 (중복 검사 조회 인덱스 겸용)
+    @UniqueConstraint(name = "uk_notices_site_fingerprint", columnNames = {"site_id", "fingerprint"})
+}, indexes = {
+    // 공지 목록 keyset 페이지네이션 (전체 / 사이트별)
+    @Index(name = "idx_notices_published_id", columnList = "published_at, id"),
+    @Index(name = "idx_notices_site_published_id", columnList = "site_id, published_at, id")
+})
 public class Notice {
     
     @Id
@@ -26,6 +33,10 @@ public class Notice {
     @Column(name = "external_id")
     private String externalId;
     
+    // 사이트 + 정규화된 URL 의 64비트 지문 (NoticeFingerprint)
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+    
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "site_id", nullable = false)
@@ -40,8 +51,12 @@ public class Notice {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @Column(name = "is_new")
-    private Boolean isNew = true;
+    // 이 공지가 저장된 사이트 크롤링 세대 (사이트의 현재 세대와 같으면 새 공지)
+    @Column(name = "crawl_generation")
+    private Long crawlGeneration;
+    
+    @Column(name = "is_important")
+    private Boolean isImportant = false;
     
     @PrePersist
     protected void onCreate() {
@@ -109,6 +124,14 @@ public class Notice {
         this.externalId = externalId;
     }
     
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
     public Site getSite() {
         return site;
     }
@@ -141,11 +164,26 @@ public class Notice {
         this.updatedAt = updatedAt;
     }
     
+    /**
+     * 사이트의 마지막 크롤링에서 저장된 공지인지 여부
+     */
     public Boolean getIsNew() {
-        return isNew;
+        return crawlGeneration != null && site != null && crawlGeneration.equals(site.getCrawlGeneration());
+    }
+    
+    public Long getCrawlGeneration() {
+        return crawlGeneration;
+    }
+    
+    public void setCrawlGeneration(Long crawlGeneration) {
+        this.crawlGeneration = crawlGeneration;
+    }
+    
+    public Boolean getIsImportant() {
+        return isImportant;
     }
     
-    public void setIsNew(Boolean isNew) {
-        this.isNew = isNew;
+    public void setIsImportant(Boolean isImportant) {
+        this.isImportant = isImportant;
     }
 }
@@ -0,0 +1,88 @@
+package com.aliali.notice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보관 개수 제한으로 notices 에서 밀려난 공지 (crawler.retention.archive=true 일 때만 기록)
+ * NoticeRetentionService 가 INSERT ... SELECT 로 옮기며, id 는 원래 공지의 id 를 그대로 쓴다.
+ */
+@Entity
+@Table(name = "notice_archive", indexes = {
+    @Index(name = "idx_notice_archive_site_published", columnList = "site_id, published_at")
+})
+public class NoticeArchive {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "site_id", nullable = false)
+    private String siteId;
+    
+    @Column(name = "title", nullable = false)
+    private String title;
+    
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String content;
+    
+    @Column(name = "url")
+    private String url;
+    
+    @Column(name = "external_id")
+    private String externalId;
+    
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    public NoticeArchive() {}
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getSiteId() {
+        return siteId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public String getExternalId() {
+        return externalId;
+    }
+    
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
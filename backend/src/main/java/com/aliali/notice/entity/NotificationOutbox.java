@@ -0,0 +1,246 @@
+package com.aliali.notice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 새 공지 알림 발송 대기열 (outbox)
+ * Notice 저장과 같은 트랜잭션에서 기록되고, NotificationDispatcher 가 비동기로 발송한다.
+ * 공지가 개수 제한으로 삭제되어도 발송할 수 있도록 알림 내용을 그대로 보관한다.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class NotificationOutbox {
+    
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_SENDING = "SENDING";
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "notice_id")
+    private Long noticeId;
+    
+    @Column(name = "site_id", nullable = false)
+    private String siteId;
+    
+    @Column(name = "site_name")
+    private String siteName;
+    
+    @Column(name = "title", nullable = false)
+    private String title;
+    
+    @Column(name = "url")
+    private String url;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+    
+    // 중요 공지 ([긴급], [필독] 등)는 우선 발송
+    @Column(name = "important")
+    private Boolean important = false;
+    
+    @Column(name = "status", nullable = false, length = 16)
+    private String status = STATUS_PENDING;
+    
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    // 재시도 때 보낼 FCM 토큰 (줄바꿈 구분, null 이면 사이트의 모든 구독자)
+    // 일부 토큰만 일시적으로 실패하면 그 토큰들만 남겨 이미 받은 기기에는 다시 보내지 않는다
+    @Column(name = "pending_tokens", columnDefinition = "TEXT")
+    private String pendingTokens;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+    
+    // Constructors
+    public NotificationOutbox() {}
+    
+    /**
+     * 저장된 공지로부터 발송 대기 항목 생성
+     */
+    public static NotificationOutbox forNotice(Notice notice) {
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.noticeId = notice.getId();
+        entry.siteId = notice.getSite().getId();
+        entry.siteName = notice.getSite().getName();
+        entry.title = notice.getTitle();
+        entry.url = notice.getUrl();
+        entry.publishedAt = notice.getPublishedAt();
+        entry.important = Boolean.TRUE.equals(notice.getIsImportant());
+        return entry;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getNoticeId() {
+        return noticeId;
+    }
+    
+    public void setNoticeId(Long noticeId) {
+        this.noticeId = noticeId;
+    }
+    
+    public String getSiteId() {
+        return siteId;
+    }
+    
+    public void setSiteId(String siteId) {
+        this.siteId = siteId;
+    }
+    
+    public String getSiteName() {
+        return siteName;
+    }
+    
+    public void setSiteName(String siteName) {
+        this.siteName = siteName;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+    
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+    
+    public Boolean getImportant() {
+        return important;
+    }
+    
+    public void setImportant(Boolean important) {
+        this.important = important;
+    }
+    
+    public boolean isImportant() {
+        return Boolean.TRUE.equals(important);
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+    
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+    
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    /**
+     * 재시도 때 보낼 토큰 (null 이면 모든 구독자)
+     */
+    public Set<String> getPendingTokens() {
+        if (pendingTokens == null || pendingTokens.isEmpty()) {
+            return null;
+        }
+        return new LinkedHashSet<>(Arrays.asList(pendingTokens.split("\n")));
+    }
+    
+    public void setPendingTokens(Collection<String> tokens) {
+        this.pendingTokens = tokens == null || tokens.isEmpty() ? null : String.join("\n", tokens);
+    }
+    
+    public boolean hasPendingTokens() {
+        return pendingTokens != null && !pendingTokens.isEmpty();
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
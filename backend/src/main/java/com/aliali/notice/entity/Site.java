@@ -39,6 +39,20 @@ public class Site {
     @Column(name = "last_crawled")
     private LocalDateTime lastCrawled;
     
+    // 조건부 요청용 검증자 (마지막으로 처리한 페이지 기준)
+    @Column(name = "etag")
+    private String etag;
+    
+    @Column(name = "last_modified")
+    private String lastModified;
+    
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    // 페이지가 변경된 크롤링마다 1씩 증가 (이 세대에 저장된 공지가 새 공지)
+    @Column(name = "crawl_generation")
+    private Long crawlGeneration = 0L;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -148,6 +162,38 @@ public class Site {
         this.lastCrawled = lastCrawled;
     }
     
+    public String getEtag() {
+        return etag;
+    }
+    
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+    
+    public String getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
+    public Long getCrawlGeneration() {
+        return crawlGeneration != null ? crawlGeneration : 0L;
+    }
+    
+    public void setCrawlGeneration(Long crawlGeneration) {
+        this.crawlGeneration = crawlGeneration;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -2,38 +2,86 @@ package com.aliali.notice.repository;
 
 import com.aliali.notice.entity.Notice;
 import com.aliali.notice.entity.Site;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
     
+    // 사이트별 최신 keep 개의 id (보관 개수 제한 네이티브 쿼리용)
+    String LATEST_IDS = "SELECT id FROM notices WHERE site_id = :siteId ORDER BY published_at DESC NULLS LAST, id DESC LIMIT :keep";
+    
     List<Notice> findBySiteOrderByPublishedAtDesc(Site site);
     
+    /**
+     * 공지 목록 한 페이지 (publishedAt, id 내림차순 keyset 페이지네이션, 사이트 fetch join 으로 쿼리 한 번)
+     * 필터/커서 파라미터가 null 이면 해당 조건을 적용하지 않는다.
+     */
+    @Query("SELECT n FROM Notice n JOIN FETCH n.site s "
+            + "WHERE (:siteId IS NULL OR s.id = :siteId) "
+            + "AND (:category IS NULL OR s.category = :category) "
+            + "AND (:isNew IS NULL "
+            + "  OR (:isNew = true AND n.crawlGeneration = COALESCE(s.crawlGeneration, 0)) "
+            + "  OR (:isNew = false AND (n.crawlGeneration IS NULL OR n.crawlGeneration <> COALESCE(s.crawlGeneration, 0)))) "
+            + "AND (:cursorPublishedAt IS NULL OR n.publishedAt < :cursorPublishedAt "
+            + "  OR (n.publishedAt = :cursorPublishedAt AND n.id < :cursorId)) "
+            + "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<Notice> findNoticePage(@Param("siteId") String siteId,
+                                @Param("category") String category,
+                                @Param("isNew") Boolean isNew,
+                                @Param("cursorPublishedAt") LocalDateTime cursorPublishedAt,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
+    
+    /**
+     * 피드 스냅샷용 전체 공지 (사이트 fetch join, 쿼리 한 번)
+     */
+    @Query("SELECT n FROM Notice n JOIN FETCH n.site s ORDER BY n.publishedAt DESC, n.id DESC")
+    List<Notice> findAllWithSiteOrderByPublishedAtDesc();
+    
     List<Notice> findBySiteOrderByCreatedAtDesc(Site site);
     
-    List<Notice> findBySiteAndIsNewTrueOrderByPublishedAtDesc(Site site);
+    /**
+     * 사이트별 공지 저장 시각 (사이트 ID, createdAt) - 적응형 크롤링 주기 초기값 계산용
+     */
+    @Query("SELECT n.site.id, n.createdAt FROM Notice n WHERE n.createdAt IS NOT NULL ORDER BY n.site.id, n.createdAt")
+    List<Object[]> findArrivalTimes();
     
-    List<Notice> findBySiteAndIsNewTrue(Site site);
+    @Query("SELECT n FROM Notice n WHERE n.site = :site AND n.crawlGeneration = COALESCE(n.site.crawlGeneration, 0) ORDER BY n.publishedAt DESC")
+    List<Notice> findNewNoticesBySite(@Param("site") Site site);
     
     @Query("SELECT n FROM Notice n WHERE n.site = :site AND n.externalId = :externalId")
     Optional<Notice> findBySiteAndExternalId(@Param("site") Site site, @Param("externalId") String externalId);
     
+    @Query("SELECT n.fingerprint FROM Notice n WHERE n.site = :site AND n.fingerprint IN :fingerprints")
+    List<Long> findExistingFingerprints(@Param("site") Site site, @Param("fingerprints") Collection<Long> fingerprints);
+    
+    List<Notice> findByFingerprintIsNull();
+    
+    @Query("SELECT n.fingerprint FROM Notice n WHERE n.site.id = :siteId AND n.fingerprint IS NOT NULL")
+    List<Long> findExistingFingerprintsBySiteId(@Param("siteId") String siteId);
+    
     @Query("SELECT n FROM Notice n WHERE n.site = :site ORDER BY n.publishedAt DESC")
     List<Notice> findRecentNoticesBySite(@Param("site") Site site);
     
     @Query("SELECT n FROM Notice n WHERE n.publishedAt >= :since ORDER BY n.publishedAt DESC")
     List<Notice> findNoticesSince(@Param("since") LocalDateTime since);
     
-    @Query("SELECT n FROM Notice n WHERE n.isNew = true ORDER BY n.publishedAt DESC")
+    @Query("SELECT n FROM Notice n JOIN n.site s WHERE n.crawlGeneration = COALESCE(s.crawlGeneration, 0) ORDER BY n.publishedAt DESC")
     List<Notice> findNewNotices();
     
+    @Query("SELECT COUNT(n) FROM Notice n JOIN n.site s WHERE n.crawlGeneration = COALESCE(s.crawlGeneration, 0)")
+    long countNewNotices();
+    
     @Query("SELECT COUNT(n) FROM Notice n WHERE n.site = :site AND n.publishedAt >= :since")
     long countNoticesBySiteSince(@Param("site") Site site, @Param("since") LocalDateTime since);
     
@@ -42,4 +90,20 @@ public interface NoticeRepository extends JpaRepository<Notice, Long> {
     
     @Query("SELECT n FROM Notice n WHERE n.site = :site ORDER BY n.publishedAt DESC")
     List<Notice> findAllNoticesBySiteOrderByPublishedAtDesc(@Param("site") Site site);
+    
+    /**
+     * 사이트별 최신 keep 개를 제외한 공지들을 notice_archive 로 복사
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notice_archive (id, site_id, title, content, url, external_id, fingerprint, published_at, created_at, archived_at) "
+            + "SELECT id, site_id, title, content, url, external_id, fingerprint, published_at, created_at, CURRENT_TIMESTAMP FROM notices "
+            + "WHERE site_id = :siteId AND id NOT IN (" + LATEST_IDS + ")", nativeQuery = true)
+    int archiveAllButLatest(@Param("siteId") String siteId, @Param("keep") int keep);
+    
+    /**
+     * 사이트별 최신 keep 개(publishedAt 기준)만 남기고 한 번의 DELETE 로 삭제
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notices WHERE site_id = :siteId AND id NOT IN (" + LATEST_IDS + ")", nativeQuery = true)
+    int deleteAllButLatest(@Param("siteId") String siteId, @Param("keep") int keep);
 }
@@ -0,0 +1,46 @@
+package com.aliali.notice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aliali.notice.entity.NotificationOutbox;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now ORDER BY o.important DESC, o.id")
+    List<NotificationOutbox> findReadyToDispatch(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * PENDING 항목을 SENDING 으로 선점 (다른 디스패처가 먼저 가져갔으면 0 반환)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.status = 'SENDING', o.lockedAt = :now, o.attempts = o.attempts + 1 " +
+           "WHERE o.id = :id AND o.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * 발송 도중 서버가 종료되어 SENDING 으로 남은 항목을 다시 PENDING 으로 되돌림
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox o SET o.status = 'PENDING', o.lockedAt = null " +
+           "WHERE o.status = 'SENDING' AND o.lockedAt < :lockedBefore")
+    int releaseStale(@Param("lockedBefore") LocalDateTime lockedBefore);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = 'SENT' AND o.sentAt < :sentBefore")
+    int deleteSentBefore(@Param("sentBefore") LocalDateTime sentBefore);
+    
+    long countByStatus(String status);
+}
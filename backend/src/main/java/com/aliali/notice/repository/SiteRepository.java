@@ -2,8 +2,10 @@ package com.aliali.notice.repository;
 
 import com.aliali.notice.entity.Site;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -21,4 +23,12 @@ public interface SiteRepository extends JpaRepository<Site, String> {
     
     @Query("SELECT s FROM Site s WHERE s.category = :category AND s.enabled = true ORDER BY s.name")
     List<Site> findEnabledSitesByCategoryOrderByName(String category);
+    
+    /**
+     * 모든 사이트의 크롤링 세대를 올려 현재 새 공지들을 한 번에 새 공지가 아니게 만든다
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Site s SET s.crawlGeneration = COALESCE(s.crawlGeneration, 0) + 1")
+    int advanceAllCrawlGenerations();
 }
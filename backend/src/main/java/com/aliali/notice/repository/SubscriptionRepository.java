@@ -1,12 +1,16 @@
 package com.aliali.notice.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.aliali.notice.entity.Site;
 import com.aliali.notice.entity.Subscription;
@@ -33,4 +37,20 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     
     @Query("SELECT s FROM Subscription s WHERE s.site = :site AND s.isActive = true")
     List<Subscription> findActiveSubscriptionsBySiteId(@Param("site") Site site);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Subscription s SET s.lastNotified = :notifiedAt, s.updatedAt = :notifiedAt WHERE s.id IN :ids")
+    int updateLastNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") LocalDateTime notifiedAt);
+    
+    /**
+     * 구독자 인덱스 재구성용 (id, siteId, fcmToken) - 엔티티/Site 프록시를 만들지 않음
+     */
+    @Query("SELECT s.id, s.site.id, s.fcmToken FROM Subscription s WHERE s.isActive = true ORDER BY s.site.id, s.id")
+    List<Object[]> findActiveSubscriberRows();
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Subscription s SET s.isActive = false, s.updatedAt = :now WHERE s.fcmToken IN :tokens AND s.isActive = true")
+    int deactivateByFcmTokens(@Param("tokens") Collection<String> tokens, @Param("now") LocalDateTime now);
 }
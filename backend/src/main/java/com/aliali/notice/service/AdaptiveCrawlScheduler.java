@@ -0,0 +1,243 @@
+package com.aliali.notice.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.aliali.notice.entity.Site;
+import com.aliali.notice.repository.NoticeRepository;
+import com.aliali.notice.repository.SiteRepository;
+
+/**
+ * 사이트별 게시 빈도에 맞춘 적응형 크롤링 (crawler.schedule=adaptive)
+ * - 새 공지가 발견된 간격의 EWMA 로 사이트마다 평균 게시 간격을 추정하고,
+ *   그 interval-factor 배마다 크롤링한다 (자주 올라오는 게시판은 자주, 조용한 게시판은 드물게)
+ * - 평균보다 오래 새 글이 없으면 그 경과 시간을 기준으로 점점 늦춘다
+ * - 주기는 min-interval ~ max-interval 로 제한 (crawler.adaptive.sites.{siteId}.* 로 사이트별 지정 가능)
+ * - 분당 fetch-budget-per-minute 개 사이트까지만 크롤링하고, 예산이 모자라면 가장 많이 밀린 사이트부터
+ * 추정값은 메모리에만 두고, 시작 시 저장된 공지의 createdAt 으로 다시 계산한다.
+ */
+@Service
+public class AdaptiveCrawlScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveCrawlScheduler.class);
+
+    public static final String SCHEDULE_FIXED = "fixed";
+    public static final String SCHEDULE_ADAPTIVE = "adaptive";
+
+    @Autowired
+    private CrawlerService crawlerService;
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${crawler.enabled:true}")
+    private boolean crawlerEnabled;
+
+    @Value("${crawler.schedule:fixed}")
+    private String schedule;
+
+    // 게시 간격 추정값이 없는 사이트의 주기
+    @Value("${crawler.interval:600000}")
+    private long defaultInterval;
+
+    @Value("${crawler.adaptive.min-interval:120000}")
+    private long minInterval;
+
+    @Value("${crawler.adaptive.max-interval:21600000}")
+    private long maxInterval;
+
+    @Value("${crawler.adaptive.interval-factor:0.25}")
+    private double intervalFactor;
+
+    @Value("${crawler.adaptive.ewma-alpha:0.3}")
+    private double ewmaAlpha;
+
+    @Value("${crawler.adaptive.fetch-budget-per-minute:30}")
+    private double fetchBudgetPerMinute;
+
+    private final Map<String, SiteSchedule> schedules = new ConcurrentHashMap<>();
+
+    // 크롤링 예산 토큰 버킷 (최대 fetchBudgetPerMinute 개)
+    private double budgetTokens = -1;
+    private long budgetRefilledAt;
+
+    /**
+     * 한 사이트의 게시 간격 추정값과 다음 크롤링 시각 (epoch 밀리초)
+     */
+    static final class SiteSchedule {
+        volatile Double meanGapMillis;
+        volatile long lastArrivalMillis;
+        volatile long nextDueMillis;
+    }
+
+    /**
+     * 저장된 공지의 저장 시각으로 사이트별 게시 간격 초기값 계산
+     * 같은 크롤링에서 함께 저장된 공지(1분 이내)는 한 번의 도착으로 본다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromNotices() {
+        if (!SCHEDULE_ADAPTIVE.equalsIgnoreCase(schedule)) {
+            return;
+        }
+        for (Object[] row : noticeRepository.findArrivalTimes()) {
+            String siteId = (String) row[0];
+            long arrival = toEpochMillis((LocalDateTime) row[1]);
+            SiteSchedule state = schedules.computeIfAbsent(siteId, id -> new SiteSchedule());
+            if (state.lastArrivalMillis == 0) {
+                state.lastArrivalMillis = arrival;
+            } else if (arrival - state.lastArrivalMillis >= 60_000) {
+                recordArrival(state, arrival);
+            }
+        }
+        logger.info("📈 적응형 크롤링 초기화: 사이트 {}개의 게시 간격 추정", schedules.size());
+    }
+
+    @Scheduled(fixedDelayString = "${crawler.adaptive.tick:15000}")
+    public void tick() {
+        if (!crawlerEnabled || !SCHEDULE_ADAPTIVE.equalsIgnoreCase(schedule)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Site> due = new ArrayList<>();
+        for (Site site : siteRepository.findByEnabledTrue()) {
+            SiteSchedule state = schedules.computeIfAbsent(site.getId(), id -> new SiteSchedule());
+            if (state.nextDueMillis <= now) {
+                due.add(site);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // 주기 대비 가장 많이 밀린 사이트부터 예산만큼
+        due.sort(Comparator.comparingDouble((Site site) -> overdueRatio(site, now)).reversed());
+        int allowed = (int) Math.min(takeBudget(now, due.size()), due.size());
+        if (allowed == 0) {
+            logger.debug("크롤링 예산 소진: 대상 {}개 대기", due.size());
+            return;
+        }
+        if (allowed < due.size()) {
+            logger.info("⏳ 크롤링 예산 부족: 대상 {}개 중 {}개만 크롤링 (분당 {}개)", due.size(), allowed, fetchBudgetPerMinute);
+        }
+
+        List<Site> batch = due.subList(0, allowed);
+        logger.info("🕐 적응형 크롤링 시작: {}개 사이트 {}", batch.size(),
+                batch.stream().map(Site::getId).toList());
+        List<CrawlerService.CrawlResult> results = crawlerService.crawlSites(batch);
+
+        long finishedAt = System.currentTimeMillis();
+        for (CrawlerService.CrawlResult result : results) {
+            SiteSchedule state = schedules.computeIfAbsent(result.getSiteId(), id -> new SiteSchedule());
+            if (result.isSuccess() && result.getNewPostsCount() > 0) {
+                recordArrival(state, finishedAt);
+            }
+            long interval = intervalFor(result.getSiteId(), state, finishedAt);
+            state.nextDueMillis = finishedAt + interval;
+            logger.debug("[{}] 다음 크롤링까지 {}초", result.getSiteId(), interval / 1000);
+        }
+    }
+
+    /**
+     * 사이트별 현재 주기와 다음 크롤링 시각 (상태 확인용)
+     */
+    public Map<String, Object> getScheduleStatus() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("schedule", schedule);
+        status.put("fetchBudgetPerMinute", fetchBudgetPerMinute);
+        Map<String, Object> sites = new LinkedHashMap<>();
+        schedules.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    SiteSchedule state = entry.getValue();
+                    Map<String, Object> site = new LinkedHashMap<>();
+                    site.put("meanGapMinutes", state.meanGapMillis != null ? Math.round(state.meanGapMillis / 60_000) : null);
+                    site.put("intervalSeconds", intervalFor(entry.getKey(), state, now) / 1000);
+                    site.put("nextDueInSeconds", Math.max(0, state.nextDueMillis - now) / 1000);
+                    sites.put(entry.getKey(), site);
+                });
+        status.put("sites", sites);
+        return status;
+    }
+
+    /**
+     * 새 공지 도착을 반영해 평균 게시 간격(EWMA) 갱신
+     */
+    private void recordArrival(SiteSchedule state, long arrivalMillis) {
+        if (state.lastArrivalMillis > 0) {
+            double gap = arrivalMillis - state.lastArrivalMillis;
+            Double mean = state.meanGapMillis;
+            state.meanGapMillis = mean == null ? gap : ewmaAlpha * gap + (1 - ewmaAlpha) * mean;
+        }
+        state.lastArrivalMillis = arrivalMillis;
+    }
+
+    /**
+     * 다음 크롤링까지의 간격
+     */
+    long intervalFor(String siteId, SiteSchedule state, long now) {
+        Double mean = state.meanGapMillis;
+        double interval = mean == null ? defaultInterval : mean * intervalFactor;
+        // 평균보다 오래 조용하면 경과 시간 기준으로 늦춘다
+        if (mean != null && state.lastArrivalMillis > 0) {
+            long quiet = now - state.lastArrivalMillis;
+            if (quiet > mean) {
+                interval = Math.max(interval, quiet * intervalFactor);
+            }
+        }
+        long min = environment.getProperty("crawler.adaptive.sites." + siteId + ".min-interval", Long.class, minInterval);
+        long max = environment.getProperty("crawler.adaptive.sites." + siteId + ".max-interval", Long.class, maxInterval);
+        return Math.max(min, Math.min(max, (long) interval));
+    }
+
+    private double overdueRatio(Site site, long now) {
+        SiteSchedule state = schedules.get(site.getId());
+        if (state == null || state.nextDueMillis == 0) {
+            return Double.MAX_VALUE;
+        }
+        return (double) (now - state.nextDueMillis) / intervalFor(site.getId(), state, now);
+    }
+
+    /**
+     * 예산 토큰을 최대 wanted 개 가져옴 (분당 fetchBudgetPerMinute 개씩 채워짐)
+     */
+    private long takeBudget(long now, int wanted) {
+        if (budgetTokens < 0) {
+            budgetTokens = fetchBudgetPerMinute;
+        } else {
+            budgetTokens = Math.min(fetchBudgetPerMinute,
+                    budgetTokens + (now - budgetRefilledAt) * fetchBudgetPerMinute / 60_000.0);
+        }
+        budgetRefilledAt = now;
+        long taken = Math.min(wanted, (long) budgetTokens);
+        budgetTokens -= taken;
+        return taken;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
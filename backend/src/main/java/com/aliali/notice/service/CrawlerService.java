@@ -1,28 +1,28 @@
 package com.aliali.notice.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +30,7 @@ import com.aliali.notice.entity.Notice;
 import com.aliali.notice.entity.Site;
 import com.aliali.notice.repository.NoticeRepository;
 import com.aliali.notice.repository.SiteRepository;
+import com.aliali.notice.service.NoticeParser.PostInfo;
 
 @Service
 public class CrawlerService {
@@ -43,7 +44,31 @@ public class CrawlerService {
     private NoticeRepository noticeRepository;
     
     @Autowired
-    private NotificationService notificationService;
+    private NoticeOutboxService noticeOutboxService;
+    
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    
+    @Autowired
+    private PageFetcher pageFetcher;
+    
+    @Autowired
+    private NoticeParser noticeParser;
+    
+    @Autowired
+    private SeenPostIndex seenPostIndex;
+    
+    @Autowired
+    private NoticeRetentionService noticeRetentionService;
+    
+    @Autowired
+    private NoticeReadService noticeReadService;
+    
+    @Autowired
+    private FeedSnapshotService feedSnapshotService;
+    
+    @Autowired
+    private HostRateLimiter hostRateLimiter;
     
     @Value("${crawler.enabled:true}")
     private boolean crawlerEnabled;
@@ -51,9 +76,15 @@ public class CrawlerService {
     @Value("${crawler.interval:600000}")
     private long crawlerInterval;
     
+    @Value("${crawler.schedule:fixed}")
+    private String crawlSchedule;
+    
     @Value("${crawler.concurrent-limit:5}")
     private int concurrentLimit;
     
+    @Value("${crawler.executor:fixed}")
+    private String executorMode;
+    
     @Value("${crawler.request-timeout:10000}")
     private int requestTimeout;
     
@@ -63,10 +94,12 @@ public class CrawlerService {
     @Value("${crawler.retry-delay:2000}")
     private long retryDelay;
     
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    @Autowired
+    @Qualifier("crawlExecutor")
+    private ExecutorService executorService;
     
-    // 크롤링 결과를 저장하는 맵 (사이트별 처리된 게시물 번호)
-    private final Map<String, Set<String>> processedPosts = new ConcurrentHashMap<>();
+    // 마지막 전체 크롤링 사이클 요약
+    private volatile CrawlCycleSummary lastCycleSummary;
     
     // 크롤링 결과를 나타내는 내부 클래스
     public static class CrawlResult {
@@ -74,46 +107,101 @@ public class CrawlerService {
         private final boolean success;
         private final int newPostsCount;
         private final String error;
+        private final long elapsedMillis;
+        private final boolean unchanged;
         
         public CrawlResult(String siteId, boolean success, int newPostsCount, String error) {
+            this(siteId, success, newPostsCount, error, 0, false);
+        }
+        
+        public CrawlResult(String siteId, boolean success, int newPostsCount, String error, long elapsedMillis, boolean unchanged) {
             this.siteId = siteId;
             this.success = success;
             this.newPostsCount = newPostsCount;
             this.error = error;
+            this.elapsedMillis = elapsedMillis;
+            this.unchanged = unchanged;
+        }
+        
+        /**
+         * 페이지가 변경되지 않아 파싱/저장을 생략한 결과
+         */
+        public static CrawlResult unchanged(String siteId) {
+            return new CrawlResult(siteId, true, 0, null, 0, true);
+        }
+        
+        /**
+         * startNanos 부터 현재까지의 소요 시간을 기록한 결과를 반환
+         */
+        public CrawlResult withElapsed(long startNanos) {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new CrawlResult(siteId, success, newPostsCount, error, elapsed, unchanged);
         }
         
         public String getSiteId() { return siteId; }
         public boolean isSuccess() { return success; }
         public int getNewPostsCount() { return newPostsCount; }
         public String getError() { return error; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public boolean isUnchanged() { return unchanged; }
     }
     
-    // 게시물 정보를 나타내는 내부 클래스
-    public static class PostInfo {
-        private final String no;
-        private final String title;
-        private final String link;
-        private final boolean isImportant;
+    // 크롤링 사이클 요약 (사이클 전체 소요 시간 vs 사이트별 소요 시간 합계)
+    public static class CrawlCycleSummary {
+        private final int sitesCount;
+        private final int successCount;
+        private final int newPostsCount;
+        private final long wallMillis;
+        private final long siteMillisSum;
+        private final int concurrentLimit;
+        private final LocalDateTime finishedAt = LocalDateTime.now();
+        
+        public CrawlCycleSummary(int sitesCount, int successCount, int newPostsCount,
+                                 long wallMillis, long siteMillisSum, int concurrentLimit) {
+            this.sitesCount = sitesCount;
+            this.successCount = successCount;
+            this.newPostsCount = newPostsCount;
+            this.wallMillis = wallMillis;
+            this.siteMillisSum = siteMillisSum;
+            this.concurrentLimit = concurrentLimit;
+        }
+        
+        /**
+         * 순차 실행 대비 속도 향상 배수 (사이트별 합계 / 사이클 소요 시간)
+         */
+        public double getSpeedup() {
+            return wallMillis > 0 ? (double) siteMillisSum / wallMillis : 0;
+        }
         
-        public PostInfo(String no, String title, String link, boolean isImportant) {
-            this.no = no;
-            this.title = title;
-            this.link = link;
-            this.isImportant = isImportant;
+        /**
+         * 동시 실행 슬롯 활용률 (1.0 이면 모든 슬롯이 사이클 내내 사용됨)
+         */
+        public double getSlotUtilization() {
+            return concurrentLimit > 0 ? getSpeedup() / concurrentLimit : 0;
         }
         
-        public String getNo() { return no; }
-        public String getTitle() { return title; }
-        public String getLink() { return link; }
-        public boolean isImportant() { return isImportant; }
+        public int getSitesCount() { return sitesCount; }
+        public int getSuccessCount() { return successCount; }
+        public int getNewPostsCount() { return newPostsCount; }
+        public long getWallMillis() { return wallMillis; }
+        public long getSiteMillisSum() { return siteMillisSum; }
+        public int getConcurrentLimit() { return concurrentLimit; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
     }
     
+    /**
+     * 고정 주기 자동 크롤링 (crawler.schedule=fixed)
+     * adaptive 모드에서는 AdaptiveCrawlScheduler 가 사이트별 주기로 crawlSites 를 호출한다.
+     */
     @Scheduled(fixedDelayString = "${crawler.interval:600000}")
     public void scheduledCrawlAllSites() {
         if (!crawlerEnabled) {
             logger.info("크롤러가 비활성화되어 있습니다");
             return;
         }
+        if (!AdaptiveCrawlScheduler.SCHEDULE_FIXED.equalsIgnoreCase(crawlSchedule)) {
+            return;
+        }
         
         logger.info("🕐 자동 크롤링 시작: {}", LocalDateTime.now());
         crawlAllSites();
@@ -130,37 +218,119 @@ public class CrawlerService {
             logger.warn("크롤링할 활성 사이트가 없습니다");
             return;
         }
-        
-        // 병렬 처리를 위해 청크로 나누기
-        List<List<Site>> chunks = partitionList(sites, concurrentLimit);
-        int totalNewNotices = 0;
-        int successCount = 0;
-        
-        for (List<Site> chunk : chunks) {
-            List<CompletableFuture<CrawlResult>> futures = chunk.stream()
-                .map(site -> CompletableFuture.supplyAsync(() -> crawlSiteWithRetry(site), executorService))
-                .collect(Collectors.toList());
+        crawlSites(sites);
+    }
+    
+    /**
+     * 주어진 사이트들을 한 사이클로 크롤링
+     * 청크 단위로 기다리지 않고, 슬롯(permit)이 하나 비는 즉시 다음 사이트를 시작한다.
+     * 같은 호스트(그룹)의 사이트가 연달아 슬롯을 차지하지 않도록 호스트를 번갈아 제출한다.
+     * @return 제출된 사이트별 결과
+     */
+    public List<CrawlResult> crawlSites(List<Site> sites) {
+        sites = interleaveByHost(sites);
+        long cycleStart = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, concurrentLimit));
+        List<CompletableFuture<CrawlResult>> futures = new ArrayList<>(sites.size());
+        
+        // 사이클이 끝날 때까지 알림 발송을 보류 (사이클의 새 공지를 기기별로 묶어서 발송)
+        notificationDispatcher.beginCycle();
+        try {
+            for (Site site : sites) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("크롤링 사이클이 중단되었습니다: {}/{} 사이트 제출됨", futures.size(), sites.size());
+                    break;
+                }
+                
+                try {
+                    futures.add(CompletableFuture.supplyAsync(() -> crawlSiteWithRetry(site), executorService)
+                        .handle((result, e) -> result != null ? result
+                            : new CrawlResult(site.getId(), false, 0, e.getMessage()))
+                        .whenComplete((result, e) -> permits.release()));
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    futures.add(CompletableFuture.completedFuture(new CrawlResult(site.getId(), false, 0, e.getMessage())));
+                }
+            }
             
-            // 모든 청크의 결과를 기다림
+            // 제출된 모든 사이트의 결과를 기다림
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            notificationDispatcher.endCycle();
+            seenPostIndex.saveSnapshot();
+            feedSnapshotService.publish();
+        }
             
-            for (CompletableFuture<CrawlResult> future : futures) {
-                try {
-                    CrawlResult result = future.get();
-                    if (result.isSuccess()) {
-                        successCount++;
-                        totalNewNotices += result.getNewPostsCount();
-                        logger.info("✅ [{}] 크롤링 성공: 새 글 {}개", result.getSiteId(), result.getNewPostsCount());
-                    } else {
-                        logger.error("❌ [{}] 크롤링 실패: {}", result.getSiteId(), result.getError());
-                    }
-                } catch (Exception e) {
-                    logger.error("크롤링 결과 처리 중 오류: {}", e.getMessage());
+        int totalNewNotices = 0;
+        int successCount = 0;
+        int unchangedCount = 0;
+        long siteMillisSum = 0;
+        
+        List<CrawlResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<CrawlResult> future : futures) {
+            CrawlResult result = future.join();
+            results.add(result);
+            siteMillisSum += result.getElapsedMillis();
+            if (result.isSuccess()) {
+                successCount++;
+                totalNewNotices += result.getNewPostsCount();
+                if (result.isUnchanged()) {
+                    unchangedCount++;
                 }
+                logger.info("✅ [{}] 크롤링 성공: 새 글 {}개 ({}ms)", result.getSiteId(), result.getNewPostsCount(), result.getElapsedMillis());
+            } else {
+                logger.error("❌ [{}] 크롤링 실패: {}", result.getSiteId(), result.getError());
             }
         }
         
-        logger.info("🎉 크롤링 완료: {}/{} 성공, 새 글 {}개", successCount, sites.size(), totalNewNotices);
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cycleStart);
+        lastCycleSummary = new CrawlCycleSummary(futures.size(), successCount, totalNewNotices,
+                wallMillis, siteMillisSum, Math.max(1, concurrentLimit));
+        
+        logger.info("🎉 크롤링 완료: {}/{} 성공 (변경 없음 {}개), 새 글 {}개", successCount, sites.size(), unchangedCount, totalNewNotices);
+        logger.info("⏱️ 사이클 소요 {}ms / 사이트별 합계 {}ms (병렬 효율 {}x, 슬롯 활용률 {}%)",
+                wallMillis, siteMillisSum,
+                String.format("%.2f", lastCycleSummary.getSpeedup()),
+                String.format("%.1f", lastCycleSummary.getSlotUtilization() * 100));
+        return results;
+    }
+    
+    /**
+     * 같은 호스트가 연달아 오지 않도록 번갈아 배치 (호스트 안의 순서는 유지)
+     * 도메인 그룹끼리 번갈아 놓고, 그룹 안에서는 호스트 이름끼리 번갈아 놓는다.
+     */
+    private List<Site> interleaveByHost(List<Site> sites) {
+        Map<String, Map<String, ArrayDeque<Site>>> byGroup = new LinkedHashMap<>();
+        for (Site site : sites) {
+            byGroup.computeIfAbsent(hostRateLimiter.keyOf(site.getUrl()), group -> new LinkedHashMap<>())
+                    .computeIfAbsent(hostRateLimiter.hostOf(site.getUrl()), host -> new ArrayDeque<>())
+                    .add(site);
+        }
+
+        List<ArrayDeque<Site>> groups = new ArrayList<>(byGroup.size());
+        for (Map<String, ArrayDeque<Site>> hosts : byGroup.values()) {
+            groups.add(new ArrayDeque<>(roundRobin(hosts.values())));
+        }
+        return roundRobin(groups);
+    }
+
+    private static List<Site> roundRobin(Collection<ArrayDeque<Site>> queues) {
+        List<Site> interleaved = new ArrayList<>();
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (ArrayDeque<Site> queue : queues) {
+                Site site = queue.poll();
+                if (site != null) {
+                    interleaved.add(site);
+                    added = true;
+                }
+            }
+        }
+        return interleaved;
     }
     
     /**
@@ -168,15 +338,16 @@ public class CrawlerService {
      */
     public CrawlResult crawlSiteWithRetry(Site site) {
         logger.info("🔍 [{}] 크롤링 시작: {}", site.getId(), site.getName());
+        long start = System.nanoTime();
         
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                return crawlSite(site);
+                return crawlSite(site).withElapsed(start);
             } catch (Exception e) {
                 logger.error("❌ [{}] 크롤링 시도 {}/{} 실패: {}", site.getId(), attempt, maxRetries, e.getMessage());
                 
                 if (attempt == maxRetries) {
-                    return new CrawlResult(site.getId(), false, 0, e.getMessage());
+                    return new CrawlResult(site.getId(), false, 0, e.getMessage()).withElapsed(start);
                 }
                 
                 // 재시도 전 대기
@@ -184,12 +355,12 @@ public class CrawlerService {
                     Thread.sleep(retryDelay);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    return new CrawlResult(site.getId(), false, 0, "Interrupted during retry delay");
+                    return new CrawlResult(site.getId(), false, 0, "Interrupted during retry delay").withElapsed(start);
                 }
             }
         }
         
-        return new CrawlResult(site.getId(), false, 0, "Unknown error");
+        return new CrawlResult(site.getId(), false, 0, "Unknown error").withElapsed(start);
     }
     
     /**
@@ -286,21 +457,17 @@ public class CrawlerService {
 
             logger.info("▶️ [{}] 크롤링을 시작합니다: {}", site.getId(), site.getUrl());
 
-            // 1. 기존 'new' 플래그 초기화
-            List<Notice> existingNotices = noticeRepository.findBySiteAndIsNewTrue(site);
-            if (!existingNotices.isEmpty()) {
-                for (Notice notice : existingNotices) {
-                    notice.setIsNew(false);
-                }
-                noticeRepository.saveAll(existingNotices);
+            // 1. 조건부 요청 (304 또는 본문 해시 동일 시 파싱/DB 작업 모두 생략)
+            PageFetcher.FetchResult fetchResult = pageFetcher.fetch(site);
+            if (fetchResult.isUnchanged()) {
+                logger.info("✅ [{}] 크롤링 완료: 페이지 변경 없음", site.getId());
+                return CrawlResult.unchanged(site.getId());
             }
 
             // 2. 웹페이지에서 게시물 파싱
-            Document doc = Jsoup.connect(site.getUrl())
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .timeout(requestTimeout)
-                    .get();
-            List<PostInfo> currentPosts = parsePosts(doc, site);
+            List<PostInfo> currentPosts = fetchResult.isStreamed()
+                    ? noticeParser.parseRows(fetchResult.getRows(), site)
+                    : noticeParser.parsePosts(fetchResult.getDocument(), site);
             logger.info("🔎 [{}] 게시물 파싱 완료: 총 {}개를 수집했습니다.", site.getId(), currentPosts.size());
 
             if (currentPosts.isEmpty()) {
@@ -308,42 +475,42 @@ public class CrawlerService {
                 return new CrawlResult(site.getId(), true, 0, null);
             }
             
-            // 3. 새 글 후보 식별
-            Set<String> processedNos = getProcessedPosts(site.getId());
-            List<PostInfo> potentialNewPosts = currentPosts.stream()
-                .filter(post -> !processedNos.contains(post.getNo()))
-                .collect(Collectors.toList());
+            // 3. 새 글 후보 식별 (이미 확인한 게시물 필터에 없는 것만, 같은 지문은 한 번만)
+            Map<Long, PostInfo> candidates = new LinkedHashMap<>();
+            List<Long> pageFingerprints = new ArrayList<>(currentPosts.size());
+            for (PostInfo post : currentPosts) {
+                long fingerprint = NoticeFingerprint.of(site.getId(), post.getLink(), post.getTitle());
+                pageFingerprints.add(fingerprint);
+                if (!seenPostIndex.contains(site.getId(), fingerprint)) {
+                    candidates.putIfAbsent(fingerprint, post);
+                }
+            }
 
-            if (potentialNewPosts.isEmpty()) {
+            // 4. 크롤링 상태 갱신 - 페이지가 바뀌었으므로 세대를 올린다 (이전 세대의 공지는 더 이상 새 공지가 아님)
+            //    사이트 저장은 새 공지 저장과 같은 트랜잭션에서 (saveNoticesAndScheduleNotifications)
+            site.setCrawlGeneration(site.getCrawlGeneration() + 1);
+            fetchResult.applyTo(site);
+            site.setLastCrawled(LocalDateTime.now());
+
+            if (candidates.isEmpty()) {
                 logger.info("✅ [{}] 크롤링 완료: 새로운 게시물이 없습니다.", site.getId());
-                site.setLastCrawled(LocalDateTime.now());
                 siteRepository.save(site);
+                seenPostIndex.markSeen(site.getId(), pageFingerprints);
+                evictReadCaches();
                 return new CrawlResult(site.getId(), true, 0, null);
             }
             
-            logger.info("👀 [{}] {}개의 글을 찾았습니다. 최종 중복 검사를 시작합니다...", site.getId(), potentialNewPosts.size());
+            logger.info("👀 [{}] {}개의 글을 찾았습니다. 최종 중복 검사를 시작합니다...", site.getId(), candidates.size());
 
-            // 4. 최종 확인 및 저장
-            int newPostsCount = 0;
-            for (PostInfo post : potentialNewPosts) {
-                String externalId = generateExternalId(post.getTitle(), post.getLink());
-                
-                // 최종 중복 검사: DB에 externalId가 없는 경우에만 저장
-                if (noticeRepository.findBySiteAndExternalId(site, externalId).isEmpty()) {
-                    newPostsCount++;
-                    logger.info("  ✨ [{}] 신규 게시물 저장: {}", site.getId(), post.getTitle());
-                    saveNoticeAndSendNotification(post, site); // 저장 및 알림 발송
-                }
-            }
-
-            // 5. 크롤링 상태 업데이트 및 요약
-            updateCrawledPostData(site.getId(), currentPosts, new ArrayList<>()); // processedNos 캐시 업데이트
-            if (newPostsCount > 0) {
-                refreshProcessedPosts(site.getId()); // 메모리 캐시 갱신
-            }
+            // 5. 최종 확인 및 저장 (후보 지문 전체를 한 번의 IN 쿼리로 확인)
+            List<Long> existingFingerprints = noticeRepository.findExistingFingerprints(site, candidates.keySet());
+            candidates.keySet().removeAll(existingFingerprints);
             
-            site.setLastCrawled(LocalDateTime.now());
-            siteRepository.save(site);
+            int newPostsCount = saveNoticesAndScheduleNotifications(candidates, site);
+
+            // 6. 요약 (페이지의 모든 게시물을 필터에 기록 - 계속 페이지에 남아 있는 글이 필터에서 밀려나지 않도록)
+            seenPostIndex.markSeen(site.getId(), pageFingerprints);
+            evictReadCaches();
 
             int duplicateCount = currentPosts.size() - newPostsCount;
             logger.info("✅ [{}] 크롤링 완료: 총 {}개 확인 (신규 {}개, 중복 {}개)", site.getId(), currentPosts.size(), newPostsCount, duplicateCount);
@@ -358,389 +525,76 @@ public class CrawlerService {
     }
 
     /**
-     * 리스트를 청크로 나누는 유틸리티 메서드
-     */
-    private <T> List<List<T>> partitionList(List<T> list, int chunkSize) {
-        List<List<T>> chunks = new ArrayList<>();
-        for (int i = 0; i < list.size(); i += chunkSize) {
-            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
-        }
-        return chunks;
-    }
-    
-    /**
-     * 사이트별 처리된 게시물 번호 가져오기 (데이터베이스에서 실시간 조회)
-     */
-    private Set<String> getProcessedPosts(String siteId) {
-        // 메모리 캐시가 있으면 사용, 없으면 DB에서 조회
-        if (processedPosts.containsKey(siteId)) {
-            return processedPosts.get(siteId);
-        }
-        
-        // 데이터베이스에서 기존 공지사항의 externalId들을 가져와서 초기화
-        Site site = siteRepository.findById(siteId).orElse(null);
-        if (site != null) {
-            Set<String> dbProcessedNos = noticeRepository.findBySiteOrderByCreatedAtDesc(site).stream()
-                .map(Notice::getExternalId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-            
-            // 메모리 캐시에 저장
-            processedPosts.put(siteId, dbProcessedNos);
-            return dbProcessedNos;
-        }
-        return new HashSet<>();
-    }
-    
-    /**
-     * 메모리 캐시 갱신 (새 글이 저장된 후 호출)
-     */
-    private void refreshProcessedPosts(String siteId) {
-        Site site = siteRepository.findById(siteId).orElse(null);
-        if (site != null) {
-            Set<String> dbProcessedNos = noticeRepository.findBySiteOrderByCreatedAtDesc(site).stream()
-                .map(Notice::getExternalId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-            
-            // 메모리 캐시 갱신
-            processedPosts.put(siteId, dbProcessedNos);
-            logger.info("🔄 [{}] 메모리 캐시 갱신: {}개", siteId, dbProcessedNos.size());
-        }
-    }
-    
-    /**
-     * HTML에서 게시물들을 파싱 (고급 로직)
-     */
-    private List<PostInfo> parsePosts(Document doc, Site site) {
-        List<PostInfo> posts = new ArrayList<>();
-        Elements allElements = doc.select(site.getSelector());
-        List<Element> postElements = allElements.subList(0, Math.min(10, allElements.size()));
-        
-        logger.info("[{}] 파싱 시작: {}개의 요소를 찾았습니다", site.getId(), postElements.size());
-        
-        for (Element element : postElements) {
-            try {
-                String articleNo = extractPostNumber(element, site);
-                String title = extractTitle(element, site);
-                String link = extractLink(element, site);
-                
-                if (articleNo == null || title == null || title.trim().isEmpty()) {
-                    logger.warn("[{}] 게시물 건너뜀: articleNo={}, title={}", site.getId(), articleNo, title);
-                    continue;
-                }
-                
-                // 중요 공지 판단
-                boolean isImportant = determineImportance(element, articleNo, title);
-                
-                posts.add(new PostInfo(articleNo, title.trim(), link, isImportant));
-                
-            } catch (Exception e) {
-                logger.warn("[{}] 게시물 파싱 실패: {}", site.getId(), e.getMessage());
-            }
-        }
-        
-        logger.info("[{}] 파싱 완료: {}개의 유효한 게시물을 수집했습니다", site.getId(), posts.size());
-        return posts;
-    }
-    
-    /**
-     * 게시물 번호 추출 (다양한 방식 시도)
-     */
-    private String extractPostNumber(Element element, Site site) {
-        // 방법 1: data-article-no 속성
-        String articleNo = element.attr("data-article-no");
-        if (!articleNo.isEmpty()) {
-            return articleNo;
-        }
-        
-        // 방법 2: href에서 추출
-        Element link = element.selectFirst("a");
-        if (link != null) {
-            String href = link.attr("href");
-            if (!href.isEmpty()) {
-                // URL 패턴들로 번호 추출
-                String[] patterns = {"[?&](?:no|articleNo|seq|num|id)=(\\d+)", "/(\\d+)(?:\\?|$|\\.html)", "article/(\\d+)"};
-                for (String pattern : patterns) {
-                    java.util.regex.Pattern p = java.util.regex.Pattern.compile(pattern, java.util.regex.Pattern.CASE_INSENSITIVE);
-                    java.util.regex.Matcher m = p.matcher(href);
-                    if (m.find()) {
-                        return m.group(1);
-                    }
-                }
-            }
-        }
-        
-        // 방법 3: 번호 컬럼에서 추출
-        Element numberCell = element.selectFirst(".td-num, .num, td:first-child");
-        if (numberCell != null) {
-            String numText = numberCell.text().trim();
-            java.util.regex.Pattern p = java.util.regex.Pattern.compile("\\d+");
-            java.util.regex.Matcher m = p.matcher(numText);
-            if (m.find()) {
-                return m.group();
-            }
-        }
-        
-        // 방법 4: 전체 텍스트에서 번호 패턴 찾기
-        String fullText = element.text();
-        java.util.regex.Pattern p = java.util.regex.Pattern.compile("(\\d{4,})");
-        java.util.regex.Matcher m = p.matcher(fullText);
-        if (m.find()) {
-            return m.group(1);
-        }
-        
-        // 방법 5: 제목 기반 해시
-        String titleHash = generateConsistentId(element.text().trim());
-        if (titleHash != null) {
-            logger.warn("[{}] 게시물 번호를 찾을 수 없어 제목 해시 사용: {}", site.getId(), titleHash);
-            return titleHash;
-        }
-        
-        return null;
-    }
-    
-    /**
-     * 제목 추출 (다양한 방식 시도)
+     * 새 공지/크롤링 세대가 커밋된 뒤 조회 캐시 무효화
+     * (피드 스냅샷은 사이트마다가 아니라 사이클이 끝날 때 한 번 새로 만든다)
      */
-    private String extractTitle(Element element, Site site) {
-        // 방법 1: 링크 안의 텍스트
-        Element link = element.selectFirst("a");
-        if (link != null) {
-            String linkTitle = link.text().trim();
-            if (!linkTitle.isEmpty()) {
-                return linkTitle;
-            }
-        }
-        
-        // 방법 2: 제목 컬럼 클래스
-        String[] titleClasses = {".title", ".subject", ".td-subject", ".board-title"};
-        for (String titleClass : titleClasses) {
-            Element titleEl = element.selectFirst(titleClass);
-            if (titleEl != null) {
-                String title = titleEl.text().trim();
-                if (!title.isEmpty()) {
-                    return title;
-                }
-            }
-        }
-        
-        // 방법 3: 전체 텍스트에서 의미있는 부분 추출
-        String fullText = element.text().trim();
-        if (!fullText.isEmpty()) {
-            String cleanTitle = fullText
-                .replaceAll("^\\d+\\s*", "") // 앞의 번호 제거
-                .replaceAll("\\d{4}-\\d{2}-\\d{2}.*$", "") // 뒤의 날짜 제거
-                .replaceAll("\\s+", " ")
-                .trim();
-            
-            if (!cleanTitle.isEmpty() && cleanTitle.length() > 5) {
-                return cleanTitle;
-            }
-        }
-        
-        return null;
+    private void evictReadCaches() {
+        noticeReadService.evictNotices();
     }
     
     /**
-     * 링크 추출
+     * 새 공지사항 일괄 저장 및 알림 예약 (갱신된 사이트 크롤링 상태/세대도 함께 저장)
+     * @param candidates 지문 -> 게시물 (DB에 없는 것만)
+     * @return 실제로 저장된 공지 수
      */
-    private String extractLink(Element element, Site site) {
-        Element link = element.selectFirst("a");
-        if (link == null) {
-            return site.getUrl();
-        }
-        
-        String href = link.attr("href");
-        if (href.isEmpty()) {
-            return site.getUrl();
+    private int saveNoticesAndScheduleNotifications(Map<Long, PostInfo> candidates, Site site) {
+        if (candidates.isEmpty()) {
+            siteRepository.save(site);
+            return 0;
         }
         
-        // 절대 URL인 경우 그대로 반환
-        if (href.startsWith("http")) {
-            return href;
+        List<Notice> notices = new ArrayList<>(candidates.size());
+        for (Map.Entry<Long, PostInfo> candidate : candidates.entrySet()) {
+            logger.info("  ✨ [{}] 신규 게시물 저장: {} (External ID: {})", site.getId(), candidate.getValue().getTitle(),
+                    NoticeFingerprint.toExternalId(candidate.getKey()));
+            notices.add(toNotice(candidate.getValue(), candidate.getKey(), site));
         }
         
-        String baseUrl = site.getUrl();
-        
-        // 상대 URL 처리
-        if (href.startsWith("/")) {
-            // 절대 경로: /notice.do?no=123
-            return baseUrl + href;
-        } else if (href.startsWith("notice.do")) {
-            // notice.do로 시작하는 경우: notice.do?mode=view&no=123
-            // 사이트 URL이 notice.do로 끝나는 경우와 그렇지 않은 경우를 구분
-            if (baseUrl.endsWith("notice.do")) {
-                // 사이트 URL이 notice.do로 끝나는 경우: https://example.com/community/notice.do
-                // notice.do?mode=view&no=123 -> https://example.com/community/notice.do?mode=view&no=123
-                if (href.contains("?")) {
-                    return baseUrl + "?" + href.substring(href.indexOf('?') + 1);
-                } else {
-                    return baseUrl;
-                }
-            } else {
-                // 사이트 URL이 notice.do로 끝나지 않는 경우
-                // baseUrl에서 notice.do/ 형태를 notice.do로 정규화
-                String normalizedBaseUrl = baseUrl;
-                if (normalizedBaseUrl.endsWith("notice.do")) {
-                    normalizedBaseUrl = normalizedBaseUrl.substring(0, normalizedBaseUrl.length() - 1);
+        int savedCount;
+        try {
+            // 사이트 세대, 공지 저장, 알림 outbox 기록을 한 트랜잭션으로 처리 (발송은 NotificationDispatcher 가 비동기로 수행)
+            savedCount = noticeOutboxService.saveNoticesWithOutbox(site, notices).size();
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 실행된 다른 크롤링이 일부를 먼저 저장함 - 한 건씩 저장하고 중복은 건너뜀
+            logger.info("🔄 [{}] 일괄 저장 중 중복 발견 - 한 건씩 다시 저장합니다", site.getId());
+            savedCount = 0;
+            for (Notice notice : notices) {
+                notice.setId(null);
+                try {
+                    noticeOutboxService.saveNoticeWithOutbox(notice);
+                    savedCount++;
+                } catch (DataIntegrityViolationException duplicate) {
+                    logger.info("🔄 [{}] 중복 게시물 발견 - 건너뜀: {} (External ID: {})", site.getId(), notice.getTitle(), notice.getExternalId());
                 }
-                
-                // notice.do?mode=view 형태로 직접 연결 (슬래시 없이)
-                return normalizedBaseUrl + href;
             }
-        } else {
-            // 기타 상대 URL
-            // baseUrl이 이미 /로 끝나는지 확인하여 중복 슬래시 방지
-            if (baseUrl.endsWith("/")) {
-                return baseUrl + href;
-            } else {
-                return baseUrl + "" + href;
-            }
-        }
-    }
-    
-    /**
-     * 중요 공지 판단
-     */
-    private boolean determineImportance(Element element, String articleNo, String title) {
-        // 번호가 숫자가 아닌 경우 (공지, 중요 등)
-        if (!articleNo.matches("\\d+")) {
-            return true;
+            // 일괄 트랜잭션과 함께 롤백된 세대는 공지를 저장한 뒤에 올린다
+            siteRepository.save(site);
         }
         
-        // 제목에 중요 키워드가 있는 경우
-        String[] importantKeywords = {"중요", "긴급", "공지", "[공지]", "[중요]", "[필독]", "필독"};
-        String lowerTitle = title.toLowerCase();
-        for (String keyword : importantKeywords) {
-            if (lowerTitle.contains(keyword.toLowerCase())) {
-                return true;
+        // 사이트별 보관 개수 제한 (사이트당 DELETE 한 번)
+        if (savedCount > 0) {
+            try {
+                noticeRetentionService.trim(site);
+            } catch (Exception e) {
+                logger.error("❌ [{}] 게시글 제한 관리 중 오류 발생: {}", site.getId(), e.getMessage());
             }
         }
         
-        // 특별한 스타일이 적용된 경우
-        return element.select(".notice, .important, .urgent").size() > 0 ||
-               element.hasClass("notice") || 
-               element.hasClass("important");
-    }
-    
-    /**
-     * 새 게시물 식별
-     */
-    private List<PostInfo> identifyNewPosts(List<PostInfo> currentPosts, Set<String> processedNos, String siteId) {
-        logger.info("[{}] 새 게시물 식별 시작 - 현재: {}개, 처리됨: {}개", siteId, currentPosts.size(), processedNos.size());
-        
-        List<PostInfo> newPosts = currentPosts.stream()
-            .filter(post -> !processedNos.contains(post.getNo()))
-            .collect(Collectors.toList());
-        
-        logger.info("[{}] 새 게시물 {}개 발견", siteId, newPosts.size());
-        return newPosts;
+        logger.info("💾 [{}] 새 공지사항 {}개 저장 및 알림 예약", site.getId(), savedCount);
+        return savedCount;
     }
     
-    /**
-     * 공지사항 저장 및 알림 발송
-     */
-    private void saveNoticeAndSendNotification(PostInfo post, Site site) {
-        String externalId = generateExternalId(post.getTitle(), post.getLink());
-        
-        // 중복 체크
-        if (noticeRepository.findBySiteAndExternalId(site, externalId).isPresent()) {
-            logger.info("🔄 [{}] 중복 게시물 발견 - 건너뜀: {} (External ID: {})", site.getId(), post.getTitle(), externalId);
-            return;
-        }
-        
-        logger.info("✨ [{}] 새 게시물 확인됨 - 저장 진행: {} (External ID: {})", site.getId(), post.getTitle(), externalId);
-        
+    private Notice toNotice(PostInfo post, long fingerprint, Site site) {
         Notice notice = new Notice();
         notice.setTitle(post.getTitle());
         notice.setUrl(post.getLink());
-        notice.setExternalId(externalId);
+        notice.setExternalId(NoticeFingerprint.toExternalId(fingerprint));
+        notice.setFingerprint(fingerprint);
         notice.setSite(site);
         notice.setPublishedAt(LocalDateTime.now());
-        notice.setIsNew(true);
-        
-        noticeRepository.save(notice);
-        
-        // 사이트별 게시글 10개 제한 로직
-        maintainNoticeLimit(site);
-        
-        // 새 글 알림 발송
-        notificationService.sendNotificationForNewNotice(notice);
-        
-        logger.info("💾 [{}] 새 공지사항 저장 및 알림 발송: {}", site.getId(), post.getTitle());
-    }
-    
-    /**
-     * 사이트별 게시글을 10개로 제한하는 메서드
-     */
-    private void maintainNoticeLimit(Site site) {
-        try {
-            List<Notice> allNotices = noticeRepository.findAllNoticesBySiteOrderByPublishedAtDesc(site);
-            
-            if (allNotices.size() > 10) {
-                // 10개를 초과하는 오래된 게시글들을 삭제
-                List<Notice> noticesToDelete = allNotices.subList(10, allNotices.size());
-                
-                for (Notice notice : noticesToDelete) {
-                    logger.info("🗑️ [{}] 오래된 게시글 삭제: {} (ID: {})", site.getId(), notice.getTitle(), notice.getId());
-                }
-                
-                noticeRepository.deleteAll(noticesToDelete);
-                logger.info("🧹 [{}] {}개의 오래된 게시글을 삭제했습니다", site.getId(), noticesToDelete.size());
-            }
-        } catch (Exception e) {
-            logger.error("❌ [{}] 게시글 제한 관리 중 오류 발생: {}", site.getId(), e.getMessage());
-        }
-    }
-    
-    /**
-     * 크롤링 데이터 업데이트
-     */
-    private void updateCrawledPostData(String siteId, List<PostInfo> currentPosts, List<PostInfo> newPosts) {
-        // 숫자 기반 게시물만 processedNos에 저장
-        Set<String> numericPosts = currentPosts.stream()
-            .filter(post -> post.getNo().matches("\\d+"))
-            .map(PostInfo::getNo)
-            .collect(Collectors.toSet());
-        
-        processedPosts.put(siteId, numericPosts);
-        logger.info("[{}] processedNos 업데이트: {}개 (해시 ID 제외)", siteId, numericPosts.size());
-    }
-    
-    /**
-     * 제목 기반 일관성 있는 ID 생성
-     */
-    private String generateConsistentId(String text) {
-        if (text == null || text.trim().length() < 5) {
-            return null;
-        }
-        
-        String normalized = text.trim()
-            .replaceAll("\\s+", " ")
-            .replaceAll("[^\\w\\s가-힣]", "")
-            .substring(0, Math.min(100, text.length()));
-        
-        if (normalized.length() < 5) {
-            return null;
-        }
-        
-        // 간단한 해시 함수
-        int hash = 0;
-        for (int i = 0; i < normalized.length(); i++) {
-            char c = normalized.charAt(i);
-            hash = ((hash << 5) - hash) + c;
-            hash = hash & hash; // 32비트 정수로 변환
-        }
-        
-        return "hash_" + Math.abs(hash);
-    }
-    
-    private String generateExternalId(String title, String link) {
-        if (link != null && !link.trim().isEmpty()) {
-            return String.valueOf(link.hashCode());
-        }
-        return String.valueOf((title + System.currentTimeMillis()).hashCode());
+        notice.setCrawlGeneration(site.getCrawlGeneration());
+        notice.setIsImportant(post.isImportant());
+        return notice;
     }
     
     /**
@@ -769,7 +623,9 @@ public class CrawlerService {
             return new CrawlResult(siteId, false, 0, "Site is disabled");
         }
         
-        return crawlSite(site);
+        CrawlResult result = crawlSite(site);
+        feedSnapshotService.publish();
+        return result;
     }
     
     /**
@@ -780,6 +636,8 @@ public class CrawlerService {
         status.put("crawlerEnabled", crawlerEnabled);
         status.put("crawlerInterval", crawlerInterval);
         status.put("concurrentLimit", concurrentLimit);
+        status.put("executorMode", executorMode);
+        status.put("schedule", crawlSchedule);
         status.put("requestTimeout", requestTimeout);
         status.put("maxRetries", maxRetries);
         status.put("retryDelay", retryDelay);
@@ -791,6 +649,7 @@ public class CrawlerService {
         // 전체 사이트 수
         long totalSitesCount = siteRepository.count();
         status.put("totalSitesCount", totalSitesCount);
+        status.put("seenPostsCount", seenPostIndex.size());
         
         // 마지막 크롤링 시간들
         List<Site> sites = siteRepository.findByEnabledTrue();
@@ -801,6 +660,21 @@ public class CrawlerService {
                 ));
         status.put("lastCrawledTimes", lastCrawledTimes);
         
+        // 마지막 크롤링 사이클 요약
+        CrawlCycleSummary summary = lastCycleSummary;
+        if (summary != null) {
+            Map<String, Object> cycle = new HashMap<>();
+            cycle.put("sitesCount", summary.getSitesCount());
+            cycle.put("successCount", summary.getSuccessCount());
+            cycle.put("newPostsCount", summary.getNewPostsCount());
+            cycle.put("wallMillis", summary.getWallMillis());
+            cycle.put("siteMillisSum", summary.getSiteMillisSum());
+            cycle.put("speedup", summary.getSpeedup());
+            cycle.put("slotUtilization", summary.getSlotUtilization());
+            cycle.put("finishedAt", summary.getFinishedAt());
+            status.put("lastCycle", cycle);
+        }
+        
         return status;
     }
     
@@ -820,6 +694,8 @@ public class CrawlerService {
         } catch (Exception e) {
             logger.error("🧪 [{}] 테스트 크롤링 실패: {}", siteId, e.getMessage());
             return new CrawlResult(siteId, false, 0, e.getMessage());
+        } finally {
+            feedSnapshotService.publish();
         }
     }
 }
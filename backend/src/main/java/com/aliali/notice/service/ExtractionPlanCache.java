@@ -0,0 +1,40 @@
+package com.aliali.notice.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.aliali.notice.entity.Site;
+
+/**
+ * 사이트별 추출 계획 캐시 (selector 설정이 바뀐 경우에만 다시 만든다)
+ */
+@Component
+public class ExtractionPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionPlanCache.class);
+
+    private final Map<String, SiteExtractionPlan> plans = new ConcurrentHashMap<>();
+
+    public SiteExtractionPlan planFor(Site site) {
+        SiteExtractionPlan plan = plans.get(site.getId());
+        if (plan != null && plan.matches(site)) {
+            return plan;
+        }
+
+        return plans.compute(site.getId(), (id, current) -> {
+            if (current != null && current.matches(site)) {
+                return current;
+            }
+            logger.info("🧩 [{}] 추출 계획 생성: selector={}", id, site.getSelector());
+            return new SiteExtractionPlan(site);
+        });
+    }
+
+    public void evict(String siteId) {
+        plans.remove(siteId);
+    }
+}
@@ -0,0 +1,233 @@
+package com.aliali.notice.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * FCM 멀티캐스트 발송 큐
+ * - 우선순위 레인: 중요 공지(high)를 일반(normal)보다 먼저 발송 (normal 이 굶지 않도록 일정 비율은 normal 우선)
+ * - 큐 크기 제한: 가득 차면 submit 이 대기 (백프레셔)
+ * - 토큰 버킷으로 초당 발송 메시지 수 제한
+ * - 일시적 오류(UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED, 네트워크)는 실패한 토큰만 지수 백오프로 재시도 (Retry-After 우선)
+ */
+@Component
+public class FcmDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FcmDispatcher.class);
+    
+    public static final String LANE_HIGH = "high";
+    public static final String LANE_NORMAL = "normal";
+    
+    // high 레인을 연속으로 이만큼 처리하면 normal 을 한 번 먼저 처리
+    private static final int HIGH_BURST = 4;
+    
+    @Autowired
+    private FirebaseService firebaseService;
+    
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private ExecutorService notificationExecutor;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${notification.concurrent-limit:50}")
+    private int workers;
+    
+    @Value("${notification.fcm.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Value("${notification.fcm.rate-per-second:1000}")
+    private double ratePerSecond;
+    
+    @Value("${notification.fcm.max-retries:3}")
+    private int maxRetries;
+    
+    @Value("${notification.fcm.retry-delay:1000}")
+    private long retryDelayMillis;
+    
+    @Value("${notification.fcm.max-retry-delay:60000}")
+    private long maxRetryDelayMillis;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<SendJob> highLane = new ArrayDeque<>();
+    private final ArrayDeque<SendJob> normalLane = new ArrayDeque<>();
+    private int highStreak;
+    
+    private volatile boolean running = true;
+    private FcmRateLimiter rateLimiter;
+    private Timer highWait;
+    private Timer normalWait;
+    private Counter retries;
+    
+    /**
+     * 큐에 들어간 멀티캐스트 한 건 (최대 500 토큰)
+     */
+    private static class SendJob {
+        final List<String> tokens;
+        final NotificationMessage message;
+        final boolean important;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<FirebaseService.MulticastResult> result = new CompletableFuture<>();
+        
+        SendJob(List<String> tokens, NotificationMessage message, boolean important) {
+            this.tokens = tokens;
+            this.message = message;
+            this.important = important;
+        }
+    }
+    
+    @PostConstruct
+    public void start() {
+        rateLimiter = new FcmRateLimiter(ratePerSecond, Math.max(ratePerSecond, FirebaseService.MULTICAST_BATCH_SIZE));
+        
+        Gauge.builder("notification.fcm.queue.depth", this, dispatcher -> dispatcher.depth(true))
+                .description("FCM 발송 대기 큐 길이").tag("lane", LANE_HIGH).register(meterRegistry);
+        Gauge.builder("notification.fcm.queue.depth", this, dispatcher -> dispatcher.depth(false))
+                .description("FCM 발송 대기 큐 길이").tag("lane", LANE_NORMAL).register(meterRegistry);
+        highWait = Timer.builder("notification.fcm.queue.wait")
+                .description("FCM 발송 큐 대기 시간").tag("lane", LANE_HIGH).register(meterRegistry);
+        normalWait = Timer.builder("notification.fcm.queue.wait")
+                .description("FCM 발송 큐 대기 시간").tag("lane", LANE_NORMAL).register(meterRegistry);
+        retries = Counter.builder("notification.fcm.retries")
+                .description("일시적 오류로 다시 보낸 토큰 수").register(meterRegistry);
+        
+        int workerCount = Math.max(1, workers);
+        for (int i = 0; i < workerCount; i++) {
+            notificationExecutor.execute(this::workLoop);
+        }
+        logger.info("📮 FCM 발송 큐 시작: 워커 {}개, 큐 {}건, 초당 {}건", workerCount, queueCapacity, ratePerSecond);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+    
+    /**
+     * 멀티캐스트 발송을 큐에 넣음 (큐가 가득 차 있으면 빈 자리가 날 때까지 대기)
+     */
+    public CompletableFuture<FirebaseService.MulticastResult> submit(List<String> tokens, NotificationMessage message,
+                                                                     boolean important) throws InterruptedException {
+        SendJob job = new SendJob(tokens, message, important);
+        lock.lockInterruptibly();
+        try {
+            while (highLane.size() + normalLane.size() >= queueCapacity) {
+                notFull.await();
+            }
+            (important ? highLane : normalLane).add(job);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return job.result;
+    }
+    
+    private SendJob take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (highLane.isEmpty() && normalLane.isEmpty()) {
+                notEmpty.await();
+            }
+            SendJob job;
+            if (!highLane.isEmpty() && (normalLane.isEmpty() || highStreak < HIGH_BURST)) {
+                job = highLane.poll();
+                highStreak++;
+            } else {
+                job = normalLane.poll();
+                highStreak = 0;
+            }
+            notFull.signal();
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void workLoop() {
+        while (running) {
+            SendJob job;
+            try {
+                job = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            
+            (job.important ? highWait : normalWait).record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                job.result.complete(sendWithRetry(job));
+            } catch (InterruptedException e) {
+                job.result.complete(FirebaseService.MulticastResult.allFailed(job.tokens, "interrupted", true));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("❌ FCM 발송 작업 오류 ({}개): {}", job.tokens.size(), e.getMessage());
+                job.result.complete(FirebaseService.MulticastResult.allFailed(job.tokens, e.getMessage(), FirebaseService.isIoError(e)));
+            }
+        }
+    }
+    
+    private FirebaseService.MulticastResult sendWithRetry(SendJob job) throws InterruptedException {
+        NotificationMessage message = job.message;
+        rateLimiter.acquire(job.tokens.size());
+        FirebaseService.MulticastResult result = firebaseService.sendMulticast(
+                job.tokens, message.getTitle(), message.getBody(), message.getData());
+        
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            List<String> retryTokens = new ArrayList<>();
+            long retryAfterMillis = -1;
+            for (FirebaseService.TokenResult tokenResult : result.getResults()) {
+                if (tokenResult.isRetryable()) {
+                    retryTokens.add(tokenResult.getToken());
+                    retryAfterMillis = Math.max(retryAfterMillis, tokenResult.getRetryAfterMillis());
+                }
+            }
+            if (retryTokens.isEmpty()) {
+                break;
+            }
+            
+            // 지수 백오프, 서버가 Retry-After 를 주면 그보다 일찍 보내지 않음
+            long delay = Math.min(maxRetryDelayMillis, Math.max(retryDelayMillis << (attempt - 1), retryAfterMillis));
+            logger.warn("🔁 FCM 일시 오류 - {}개 토큰 {}ms 후 재시도 ({}/{})", retryTokens.size(), delay, attempt, maxRetries);
+            retries.increment(retryTokens.size());
+            Thread.sleep(delay);
+            
+            rateLimiter.acquire(retryTokens.size());
+            result = result.merge(firebaseService.sendMulticast(
+                    retryTokens, message.getTitle(), message.getBody(), message.getData()));
+        }
+        return result;
+    }
+    
+    private int depth(boolean high) {
+        lock.lock();
+        try {
+            return high ? highLane.size() : normalLane.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.aliali.notice.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FCM 발송용 토큰 버킷 (초당 ratePerSecond 개 보충, 최대 capacity 개까지 누적)
+ * 메시지(토큰) 하나당 토큰 하나를 소비한다.
+ */
+public final class FcmRateLimiter {
+    
+    private final double ratePerNano;
+    private final double capacity;
+    private double available;
+    private long lastRefillNanos;
+    
+    public FcmRateLimiter(double ratePerSecond, double capacity) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.available = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * permits 개를 쓸 수 있을 때까지 대기 (capacity 보다 큰 요청은 capacity 만큼만 기다림)
+     */
+    public void acquire(int permits) throws InterruptedException {
+        double needed = Math.min(permits, capacity);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (available >= needed) {
+                    available -= needed;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((needed - available) / ratePerNano);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, 1_000_000L));
+        }
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * ratePerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,189 @@
+package com.aliali.notice.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.aliali.notice.dto.NoticeDto;
+import com.aliali.notice.dto.SiteDto;
+import com.aliali.notice.entity.Notice;
+import com.aliali.notice.repository.NoticeRepository;
+import com.aliali.notice.repository.SiteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 자주 조회되는 목록(사이트 목록, 공지 피드)을 미리 직렬화해 둔 불변 스냅샷
+ * 크롤링 사이클이 끝나거나 공지가 바뀔 때 새로 만들어 통째로 교체하고,
+ * 컨트롤러는 JSON/gzip 바이트와 ETag 를 그대로 응답한다 (요청마다 조회/직렬화 없음).
+ */
+@Service
+public class FeedSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedSnapshotService.class);
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private NoticeRepository noticeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 미리 직렬화된 응답 하나 (JSON 원본, gzip 압축본, 각각의 강한 ETag)
+     */
+    public static final class Entry {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String gzipEtag;
+
+        Entry(byte[] json, byte[] gzip, String hash) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-gz\"";
+        }
+
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+        public String getEtag() { return etag; }
+        public String getGzipEtag() { return gzipEtag; }
+    }
+
+    /**
+     * 한 시점의 전체 스냅샷 (만든 뒤에는 바뀌지 않음)
+     */
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null, null, Map.of(), Map.of());
+
+        final Entry sites;
+        final Entry feed;
+        final Map<String, Entry> feedBySite;
+        final Map<String, Entry> feedByCategory;
+
+        Snapshot(Entry sites, Entry feed, Map<String, Entry> feedBySite, Map<String, Entry> feedByCategory) {
+            this.sites = sites;
+            this.feed = feed;
+            this.feedBySite = feedBySite;
+            this.feedByCategory = feedByCategory;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishOnStartup() {
+        publish();
+    }
+
+    /**
+     * DB 에서 사이트/공지를 한 번씩 읽어 새 스냅샷을 만들고 교체
+     */
+    public synchronized void publish() {
+        long start = System.nanoTime();
+        try {
+            List<SiteDto> sites = siteRepository.findByEnabledTrue().stream()
+                    .map(SiteDto::new)
+                    .collect(Collectors.toList());
+
+            List<Notice> notices = noticeRepository.findAllWithSiteOrderByPublishedAtDesc();
+            List<NoticeDto> feed = new ArrayList<>(notices.size());
+            Map<String, List<NoticeDto>> bySite = new LinkedHashMap<>();
+            Map<String, List<NoticeDto>> byCategory = new LinkedHashMap<>();
+            for (Notice notice : notices) {
+                NoticeDto dto = new NoticeDto(notice);
+                feed.add(dto);
+                // 사이트/카테고리별 피드는 /sites 와 같이 활성 사이트만
+                if (!Boolean.TRUE.equals(notice.getSite().getEnabled())) {
+                    continue;
+                }
+                bySite.computeIfAbsent(notice.getSite().getId(), id -> new ArrayList<>()).add(dto);
+                if (notice.getSite().getCategory() != null) {
+                    byCategory.computeIfAbsent(notice.getSite().getCategory(), category -> new ArrayList<>()).add(dto);
+                }
+            }
+
+            // 공지가 없는 사이트/카테고리도 빈 배열로 응답할 수 있도록 채움
+            for (SiteDto site : sites) {
+                bySite.putIfAbsent(site.getId(), List.of());
+                if (site.getCategory() != null) {
+                    byCategory.putIfAbsent(site.getCategory(), List.of());
+                }
+            }
+
+            snapshot = new Snapshot(toEntry(sites), toEntry(feed), toEntries(bySite), toEntries(byCategory));
+            logger.info("📸 피드 스냅샷 갱신: 공지 {}개, 사이트 {}개, 카테고리 {}개 ({}KB, {}ms)",
+                    feed.size(), bySite.size(), byCategory.size(), snapshot.feed.getJson().length / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // 기존 스냅샷을 계속 사용
+            logger.error("❌ 피드 스냅샷 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    public Entry getSites() {
+        return current().sites;
+    }
+
+    public Entry getFeed() {
+        return current().feed;
+    }
+
+    /**
+     * @return 활성 사이트가 아니면 null
+     */
+    public Entry getFeedBySite(String siteId) {
+        return current().feedBySite.get(siteId);
+    }
+
+    /**
+     * @return 활성 사이트에 없는 카테고리면 null
+     */
+    public Entry getFeedByCategory(String category) {
+        return current().feedByCategory.get(category);
+    }
+
+    /**
+     * 시작 직후 첫 스냅샷이 만들어지기 전에 들어온 요청은 여기서 직접 만든다
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == Snapshot.EMPTY) {
+            publish();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private Map<String, Entry> toEntries(Map<String, List<NoticeDto>> groups) throws IOException {
+        Map<String, Entry> entries = new HashMap<>(groups.size() * 2);
+        for (Map.Entry<String, List<NoticeDto>> group : groups.entrySet()) {
+            entries.put(group.getKey(), toEntry(group.getValue()));
+        }
+        return Map.copyOf(entries);
+    }
+
+    private Entry toEntry(Object value) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(value);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(json);
+        }
+        return new Entry(json, gzip.toByteArray(), PageFetcher.sha256(json).substring(0, 32));
+    }
+}
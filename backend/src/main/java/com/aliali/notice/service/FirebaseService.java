@@ -1,11 +1,16 @@
 package com.aliali.notice.service;
 
+import com.google.firebase.ErrorCode;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,13 +18,27 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 public class FirebaseService {
     
     private static final Logger logger = LoggerFactory.getLogger(FirebaseService.class);
     
+    // FCM sendEachForMulticast 1회 호출당 최대 토큰 수
+    public static final int MULTICAST_BATCH_SIZE = 500;
+    
     @Value("${firebase.project-id}")
     private String projectId;
     
@@ -74,9 +93,16 @@ public class FirebaseService {
     }
     
     public boolean sendNotification(String fcmToken, String title, String body, String data) {
+        return send(fcmToken, title, body, data).isSuccess();
+    }
+    
+    /**
+     * 단일 토큰 발송 (실패 시 FCM 오류 코드 포함)
+     */
+    public TokenResult send(String fcmToken, String title, String body, String data) {
         if (firebaseMessaging == null) {
             logger.warn("Firebase not initialized, skipping notification");
-            return false;
+            return TokenResult.failure(fcmToken, null, "Firebase not initialized", false);
         }
         
         logger.info("Sending FCM notification to token: {}", fcmToken.substring(0, Math.min(20, fcmToken.length())) + "...");
@@ -94,14 +120,14 @@ public class FirebaseService {
             
             String response = firebaseMessaging.send(message);
             logger.info("Successfully sent message: {}", response);
-            return true;
+            return new TokenResult(fcmToken, true, response, null, null, true);
         } catch (FirebaseMessagingException e) {
             logger.error("Failed to send notification to token {}: {}", fcmToken, e.getMessage());
-            logger.error("Error details: {}", e.getErrorCode());
-            return false;
+            logger.error("Error details: {} ({})", e.getErrorCode(), e.getMessagingErrorCode());
+            return TokenResult.of(fcmToken, e, true);
         } catch (Exception e) {
             logger.error("Unexpected error sending notification: {}", e.getMessage());
-            return false;
+            return TokenResult.failure(fcmToken, null, e.getMessage(), isIoError(e));
         }
     }
     
@@ -111,13 +137,103 @@ public class FirebaseService {
             return false;
         }
         
-        boolean allSuccess = true;
-        for (String token : fcmTokens) {
-            if (!sendNotification(token, title, body, data)) {
-                allSuccess = false;
+        return sendMulticast(Arrays.asList(fcmTokens), title, body, data).getFailureCount() == 0;
+    }
+    
+    /**
+     * 여러 토큰에 같은 알림을 발송 (500개 단위 sendEachForMulticast)
+     * 결과는 입력 토큰 순서와 같은 순서로 토큰별로 반환한다.
+     */
+    public MulticastResult sendMulticast(List<String> fcmTokens, String title, String body, String data) {
+        List<TokenResult> results = new ArrayList<>(fcmTokens.size());
+        if (firebaseMessaging == null) {
+            logger.warn("Firebase not initialized, skipping notification");
+            return MulticastResult.allFailed(fcmTokens, "Firebase not initialized", false);
+        }
+        
+        Notification notification = Notification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .build();
+        
+        for (int from = 0; from < fcmTokens.size(); from += MULTICAST_BATCH_SIZE) {
+            List<String> batch = fcmTokens.subList(from, Math.min(from + MULTICAST_BATCH_SIZE, fcmTokens.size()));
+            MulticastMessage message = MulticastMessage.builder()
+                    .addAllTokens(batch)
+                    .setNotification(notification)
+                    .putData("data", data)
+                    .build();
+            
+            try {
+                BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(TokenResult.of(batch.get(i), responses.get(i)));
+                }
+                logger.info("📨 FCM 배치 발송: {}개 중 성공 {}, 실패 {}",
+                        batch.size(), response.getSuccessCount(), response.getFailureCount());
+            } catch (FirebaseMessagingException e) {
+                // 배치 전체 실패 (인증 오류 등) - 배치의 모든 토큰을 실패로 기록
+                logger.error("FCM 배치 발송 실패 ({}개): {} ({})", batch.size(), e.getMessage(), e.getMessagingErrorCode());
+                for (String token : batch) {
+                    results.add(TokenResult.of(token, e, false));
+                }
+            } catch (Exception e) {
+                logger.error("Unexpected error sending multicast notification: {}", e.getMessage());
+                boolean ioError = isIoError(e);
+                for (String token : batch) {
+                    results.add(TokenResult.failure(token, null, e.getMessage(), ioError));
+                }
+            }
+        }
+        
+        return new MulticastResult(results);
+    }
+    
+    /**
+     * 응답의 Retry-After 헤더 (초 또는 HTTP 날짜)를 밀리초로 변환, 없으면 -1
+     */
+    static long retryAfterMillis(FirebaseMessagingException e) {
+        if (e == null || e.getHttpResponse() == null) {
+            return -1;
+        }
+        Object header = e.getHttpResponse().getHeaders().get("retry-after");
+        if (header instanceof List<?> values) {
+            header = values.isEmpty() ? null : values.get(0);
+        }
+        if (header == null) {
+            return -1;
+        }
+        String value = header.toString().trim();
+        try {
+            return Long.parseLong(value) * 1000;
+        } catch (NumberFormatException ignored) {
+            // HTTP 날짜 형식
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt).toMillis());
+        } catch (DateTimeParseException ignored) {
+            return -1;
+        }
+    }
+    
+    /**
+     * 전송 계층 오류(연결 실패, 타임아웃 등)인지 - FCM 오류 코드 없이 실패한 경우 재시도 여부 판단용
+     */
+    static boolean isIoError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
             }
         }
-        return allSuccess;
+        return false;
+    }
+    
+    // FCM 오류 코드 없이 온 HTTP 오류 중 서버/게이트웨이 쪽 일시 장애
+    private static boolean isServerError(ErrorCode errorCode) {
+        return errorCode == ErrorCode.UNAVAILABLE || errorCode == ErrorCode.INTERNAL
+                || errorCode == ErrorCode.DEADLINE_EXCEEDED;
     }
     
     public boolean isFirebaseAvailable() {
@@ -128,4 +244,141 @@ public class FirebaseService {
         logger.info("🔥 Firebase 강제 초기화 시작...");
         initialize();
     }
+    
+    /**
+     * 토큰 하나에 대한 발송 결과
+     */
+    public static class TokenResult {
+        private final String token;
+        private final boolean success;
+        private final String messageId;
+        private final MessagingErrorCode errorCode;
+        private final String error;
+        // FCM 이 이 토큰에 대해 개별적으로 돌려준 결과인지 (배치 전체 실패가 아닌지)
+        private final boolean tokenSpecific;
+        // FCM 이 Retry-After 로 알려준 재시도 대기 시간 (없으면 -1)
+        private final long retryAfterMillis;
+        // FCM 오류 코드 없이 전송 계층에서 실패했는지 (네트워크 오류, 게이트웨이 5xx 등)
+        private final boolean ioError;
+        
+        public TokenResult(String token, boolean success, String messageId, MessagingErrorCode errorCode, String error,
+                           boolean tokenSpecific) {
+            this(token, success, messageId, errorCode, error, tokenSpecific, -1);
+        }
+        
+        public TokenResult(String token, boolean success, String messageId, MessagingErrorCode errorCode, String error,
+                           boolean tokenSpecific, long retryAfterMillis) {
+            this(token, success, messageId, errorCode, error, tokenSpecific, retryAfterMillis, false);
+        }
+        
+        private TokenResult(String token, boolean success, String messageId, MessagingErrorCode errorCode, String error,
+                            boolean tokenSpecific, long retryAfterMillis, boolean ioError) {
+            this.token = token;
+            this.success = success;
+            this.messageId = messageId;
+            this.errorCode = errorCode;
+            this.error = error;
+            this.tokenSpecific = tokenSpecific;
+            this.retryAfterMillis = retryAfterMillis;
+            this.ioError = ioError;
+        }
+        
+        static TokenResult of(String token, SendResponse response) {
+            if (response.isSuccessful()) {
+                return new TokenResult(token, true, response.getMessageId(), null, null, true);
+            }
+            return of(token, response.getException(), true);
+        }
+        
+        static TokenResult of(String token, FirebaseMessagingException e, boolean tokenSpecific) {
+            if (e == null) {
+                return failure(token, null, null, false);
+            }
+            return new TokenResult(token, false, null, e.getMessagingErrorCode(), e.getMessage(), tokenSpecific,
+                    retryAfterMillis(e), e.getMessagingErrorCode() == null && (isIoError(e) || isServerError(e.getErrorCode())));
+        }
+        
+        /**
+         * 배치 전체 실패 (FCM 의 토큰별 응답이 아님)
+         * @param ioError 네트워크 오류 등 다시 보내면 성공할 수 있는 실패인지
+         */
+        static TokenResult failure(String token, MessagingErrorCode errorCode, String error, boolean ioError) {
+            return new TokenResult(token, false, null, errorCode, error, false, -1, ioError);
+        }
+        
+        public String getToken() { return token; }
+        public boolean isSuccess() { return success; }
+        public String getMessageId() { return messageId; }
+        public MessagingErrorCode getErrorCode() { return errorCode; }
+        public String getError() { return error; }
+        public long getRetryAfterMillis() { return retryAfterMillis; }
+        
+        /**
+         * 더 이상 유효하지 않은 토큰인지 (앱 삭제/토큰 만료, 다른 프로젝트의 토큰)
+         * INVALID_ARGUMENT 는 메시지 내용 문제일 수도 있어 오류가 등록 토큰을 가리킬 때만 포함한다.
+         * 배치 전체가 실패한 경우는 토큰 문제가 아니므로 제외한다.
+         */
+        public boolean isInvalidToken() {
+            if (success || !tokenSpecific) {
+                return false;
+            }
+            if (errorCode == MessagingErrorCode.UNREGISTERED || errorCode == MessagingErrorCode.SENDER_ID_MISMATCH) {
+                return true;
+            }
+            return errorCode == MessagingErrorCode.INVALID_ARGUMENT
+                    && error != null && error.toLowerCase(Locale.ROOT).contains("registration token");
+        }
+        
+        /**
+         * 다시 보내면 성공할 수 있는 실패인지 (네트워크 오류, FCM 일시 장애, 할당량 초과)
+         * 오류 코드가 없는 실패는 전송 계층 오류일 때만 재시도한다 (Firebase 미초기화 등은 제외).
+         */
+        public boolean isRetryable() {
+            return !success && (ioError
+                    || errorCode == MessagingErrorCode.UNAVAILABLE
+                    || errorCode == MessagingErrorCode.INTERNAL
+                    || errorCode == MessagingErrorCode.QUOTA_EXCEEDED);
+        }
+    }
+    
+    /**
+     * 멀티캐스트 발송 결과 (입력 토큰 순서와 같은 순서의 토큰별 결과)
+     */
+    public static class MulticastResult {
+        private final List<TokenResult> results;
+        private final int successCount;
+        
+        public MulticastResult(List<TokenResult> results) {
+            this.results = results;
+            this.successCount = (int) results.stream().filter(TokenResult::isSuccess).count();
+        }
+        
+        /**
+         * 재시도한 토큰들의 결과로 기존 결과를 덮어쓴 새 결과 (입력 순서 유지)
+         */
+        MulticastResult merge(MulticastResult retried) {
+            Map<String, TokenResult> byToken = new HashMap<>(retried.results.size() * 2);
+            for (TokenResult result : retried.results) {
+                byToken.put(result.getToken(), result);
+            }
+            List<TokenResult> merged = new ArrayList<>(results.size());
+            for (TokenResult result : results) {
+                merged.add(byToken.getOrDefault(result.getToken(), result));
+            }
+            return new MulticastResult(merged);
+        }
+        
+        static MulticastResult allFailed(List<String> tokens, String error, boolean ioError) {
+            List<TokenResult> results = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                results.add(TokenResult.failure(token, null, error, ioError));
+            }
+            return new MulticastResult(results);
+        }
+        
+        public List<TokenResult> getResults() { return results; }
+        public int getSuccessCount() { return successCount; }
+        public int getFailureCount() { return results.size() - successCount; }
+        public boolean hasRetryableFailure() { return results.stream().anyMatch(TokenResult::isRetryable); }
+    }
 }
@@ -0,0 +1,334 @@
+package com.aliali.notice.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 호스트별 크롤링 예절
+ * - 호스트 이름마다 동시 요청 수 제한 (crawler.http.max-connections-per-host)
+ *   과 초당 요청 수 토큰 버킷 (requests-per-second-per-host, burst-per-host)
+ * - robots.txt 의 Crawl-delay 가 있으면 그 호스트의 요청 시작 간격을 그 이상으로 벌린다
+ * - host-grouping=domain 이면 같은 등록 도메인(예: *.catholic.ac.kr)의 호스트들이 그룹 한도
+ *   (max-connections-per-group, requests-per-second-per-group, burst-per-group)를 추가로 함께 쓴다.
+ *   그룹 한도는 호스트 한도의 몇 배로 잡아, 서로 다른 호스트끼리는 병렬로 가져오면서 도메인 전체의 상한만 둔다.
+ */
+@Component
+public class HostRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostRateLimiter.class);
+
+    public static final String GROUPING_HOST = "host";
+    public static final String GROUPING_DOMAIN = "domain";
+
+    // 2단계 국가 도메인의 2단계 레이블 (xxx.ac.kr, xxx.co.uk 등은 3개 레이블이 등록 도메인)
+    private static final Set<String> SECOND_LEVEL_LABELS = Set.of(
+            "ac", "co", "go", "or", "ne", "re", "pe", "mil", "hs", "ms", "es", "sc", "kg",
+            "com", "net", "org", "edu", "gov");
+
+    @Value("${crawler.http.max-connections-per-host:2}")
+    private int maxConnectionsPerHost;
+
+    @Value("${crawler.http.requests-per-second-per-host:2.0}")
+    private double requestsPerSecond;
+
+    @Value("${crawler.http.burst-per-host:4}")
+    private int burst;
+
+    @Value("${crawler.http.host-grouping:domain}")
+    private String hostGrouping;
+
+    @Value("${crawler.http.max-connections-per-group:8}")
+    private int maxConnectionsPerGroup;
+
+    @Value("${crawler.http.requests-per-second-per-group:8.0}")
+    private double requestsPerSecondPerGroup;
+
+    @Value("${crawler.http.burst-per-group:16}")
+    private int burstPerGroup;
+
+    @Value("${crawler.http.robots.enabled:true}")
+    private boolean robotsEnabled;
+
+    @Value("${crawler.http.robots.cache-ttl:86400000}")
+    private long robotsCacheTtl;
+
+    @Value("${crawler.http.robots.max-crawl-delay:30000}")
+    private long maxCrawlDelay;
+
+    @Value("${crawler.http.connect-timeout:5000}")
+    private int connectTimeout;
+
+    private HttpClient robotsClient;
+
+    // 호스트 이름별 한도
+    private final Map<String, HostBucket> buckets = new ConcurrentHashMap<>();
+
+    // 등록 도메인별 공동 한도 (host-grouping=domain 일 때만)
+    private final Map<String, HostBucket> groupBuckets = new ConcurrentHashMap<>();
+
+    // origin 별 robots.txt 규칙
+    private final Map<String, RobotsRule> robotsRules = new ConcurrentHashMap<>();
+
+    /**
+     * 한 호스트(또는 그룹)의 동시 요청 permit 과 토큰 버킷
+     */
+    static final class HostBucket {
+        final Semaphore permits;
+        private final double ratePerMilli;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+        // 마지막으로 예약된 요청 시작 시각 (Crawl-delay 간격 계산용)
+        private long lastStartAt;
+
+        HostBucket(int concurrency, double requestsPerSecond, int burst) {
+            this.permits = new Semaphore(Math.max(1, concurrency), true);
+            this.ratePerMilli = requestsPerSecond / 1000.0;
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.refilledAt = System.currentTimeMillis();
+        }
+
+        /**
+         * 요청 하나를 예약하고 시작까지 기다려야 할 시간을 반환
+         * 토큰이 모자라면 음수로 빌려 써서 뒤에 온 요청이 차례로 더 기다리게 한다.
+         * @param crawlDelayMillis 요청 대상 호스트의 Crawl-delay (직전 요청 시작부터 이만큼 띄움)
+         */
+        synchronized long reserve(long now, long crawlDelayMillis) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerMilli);
+            refilledAt = now;
+            long start = now + (tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / ratePerMilli));
+            tokens -= 1;
+
+            if (crawlDelayMillis > 0 && lastStartAt > 0) {
+                start = Math.max(start, lastStartAt + crawlDelayMillis);
+            }
+            lastStartAt = Math.max(lastStartAt, start);
+            return start - now;
+        }
+    }
+
+    /**
+     * robots.txt 에서 읽은 규칙 (현재는 Crawl-delay 만 사용)
+     */
+    static final class RobotsRule {
+        final long crawlDelayMillis;
+        final long expiresAt;
+
+        RobotsRule(long crawlDelayMillis, long expiresAt) {
+            this.crawlDelayMillis = crawlDelayMillis;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 요청 하나의 동시 실행 permit (끝나면 close)
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore hostPermits;
+        private final Semaphore groupPermits;
+
+        Permit(Semaphore hostPermits, Semaphore groupPermits) {
+            this.hostPermits = hostPermits;
+            this.groupPermits = groupPermits;
+        }
+
+        @Override
+        public void close() {
+            if (groupPermits != null) {
+                groupPermits.release();
+            }
+            hostPermits.release();
+        }
+    }
+
+    @PostConstruct
+    public void initialize() {
+        robotsClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+        logger.info("🚦 호스트별 요청 제한: 동시 {}개, 초당 {}회 (burst {}), robots Crawl-delay {}",
+                maxConnectionsPerHost, requestsPerSecond, burst, robotsEnabled ? "적용" : "무시");
+        if (isDomainGrouping()) {
+            logger.info("🚦 도메인 그룹 공동 제한: 동시 {}개, 초당 {}회 (burst {})",
+                    maxConnectionsPerGroup, requestsPerSecondPerGroup, burstPerGroup);
+        }
+    }
+
+    /**
+     * 호스트(와 그룹)의 동시 요청 permit 을 얻고, 토큰 버킷/Crawl-delay 에 따라 요청을 시작해도 될 때까지 대기
+     * robots.txt 는 permit 을 잡기 전에 읽어, 조회가 느려도 같은 호스트/그룹의 다른 요청을 막지 않는다.
+     */
+    public Permit acquire(URI uri) throws InterruptedException {
+        long crawlDelay = robotsEnabled ? crawlDelayOf(uri) : 0;
+
+        String host = hostOf(uri);
+        String group = keyOf(uri);
+        HostBucket bucket = buckets.computeIfAbsent(host, k -> new HostBucket(maxConnectionsPerHost, requestsPerSecond, burst));
+        HostBucket groupBucket = group.equals(host) ? null : groupBuckets.computeIfAbsent(group,
+                k -> new HostBucket(maxConnectionsPerGroup, requestsPerSecondPerGroup, burstPerGroup));
+
+        // 항상 호스트 -> 그룹 순서로 잡는다
+        bucket.permits.acquire();
+        try {
+            if (groupBucket != null) {
+                groupBucket.permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            bucket.permits.release();
+            throw e;
+        }
+        Permit permit = new Permit(bucket.permits, groupBucket != null ? groupBucket.permits : null);
+        try {
+            long now = System.currentTimeMillis();
+            long wait = bucket.reserve(now, crawlDelay);
+            if (groupBucket != null) {
+                wait = Math.max(wait, groupBucket.reserve(now, 0));
+            }
+            if (wait > 0) {
+                if (wait >= 1000) {
+                    logger.debug("[{}] 요청 간격 조절: {}ms 대기", host, wait);
+                }
+                TimeUnit.MILLISECONDS.sleep(wait);
+            }
+        } catch (InterruptedException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        return permit;
+    }
+
+    /**
+     * 그룹 한도를 함께 쓰는 키 (host-grouping=host 면 호스트 이름)
+     */
+    public String keyOf(URI uri) {
+        String host = hostOf(uri);
+        return isDomainGrouping() ? registrableDomain(host) : host;
+    }
+
+    public String keyOf(String url) {
+        try {
+            return keyOf(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    public String hostOf(String url) {
+        try {
+            return hostOf(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static String hostOf(URI uri) {
+        return uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : String.valueOf(uri.getAuthority());
+    }
+
+    private boolean isDomainGrouping() {
+        return GROUPING_DOMAIN.equalsIgnoreCase(hostGrouping);
+    }
+
+    static String registrableDomain(String host) {
+        if (host.isEmpty() || Character.isDigit(host.charAt(host.length() - 1))) {
+            return host; // IP 주소
+        }
+        String[] labels = host.split("\\.");
+        if (labels.length <= 2) {
+            return host;
+        }
+        int keep = labels[labels.length - 1].length() == 2 && SECOND_LEVEL_LABELS.contains(labels[labels.length - 2]) ? 3 : 2;
+        if (labels.length <= keep) {
+            return host;
+        }
+        return String.join(".", Arrays.copyOfRange(labels, labels.length - keep, labels.length));
+    }
+
+    /**
+     * 호스트의 robots.txt Crawl-delay (캐시, 읽지 못하면 0)
+     */
+    private long crawlDelayOf(URI uri) {
+        String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        long now = System.currentTimeMillis();
+        RobotsRule rule = robotsRules.get(origin);
+        if (rule != null && rule.expiresAt > now) {
+            return rule.crawlDelayMillis;
+        }
+
+        long delay = 0;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(origin + "/robots.txt"))
+                    .timeout(Duration.ofMillis(connectTimeout))
+                    .header("User-Agent", PageFetcher.USER_AGENT)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = robotsClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                delay = Math.min(maxCrawlDelay, parseCrawlDelay(response.body()));
+                if (delay > 0) {
+                    logger.info("🤖 [{}] robots.txt Crawl-delay {}ms 적용", uri.getHost(), delay);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.debug("[{}] robots.txt 조회 실패 - Crawl-delay 없음으로 처리: {}", uri.getHost(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        robotsRules.put(origin, new RobotsRule(delay, now + robotsCacheTtl));
+        return delay;
+    }
+
+    /**
+     * User-agent: * 그룹의 Crawl-delay (초, 소수 허용) 를 밀리초로
+     */
+    static long parseCrawlDelay(String robots) {
+        boolean inWildcardGroup = false;
+        boolean lastLineWasAgent = false;
+        for (String rawLine : robots.split("\\r?\\n")) {
+            int comment = rawLine.indexOf('#');
+            String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).trim();
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String field = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            if (field.equals("user-agent")) {
+                // 연속된 User-agent 줄은 한 그룹
+                inWildcardGroup = (lastLineWasAgent && inWildcardGroup) || value.equals("*");
+                lastLineWasAgent = true;
+                continue;
+            }
+            lastLineWasAgent = false;
+            if (inWildcardGroup && field.equals("crawl-delay")) {
+                try {
+                    return (long) (Double.parseDouble(value) * 1000);
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
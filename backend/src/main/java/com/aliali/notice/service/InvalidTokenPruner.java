@@ -0,0 +1,76 @@
+package com.aliali.notice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.aliali.notice.repository.SubscriptionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * FCM 이 무효라고 응답한 토큰(UNREGISTERED / INVALID_ARGUMENT / SENDER_ID_MISMATCH)의 구독을 일괄 비활성화
+ * 같은 토큰으로 등록된 다른 사이트 구독도 함께 비활성화되고, 구독자 인덱스에서도 제거된다.
+ */
+@Service
+public class InvalidTokenPruner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InvalidTokenPruner.class);
+    
+    // 비활성화 UPDATE 한 번에 넣을 최대 토큰 수
+    private static final int PRUNE_CHUNK_SIZE = 500;
+    
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * 발송 결과 중 무효 토큰을 골라 비활성화
+     * @return 비활성화된 구독 수
+     */
+    public int prune(List<FirebaseService.TokenResult> results) {
+        Set<String> invalidTokens = new LinkedHashSet<>();
+        Map<String, Integer> reasons = new HashMap<>();
+        for (FirebaseService.TokenResult result : results) {
+            if (result.isInvalidToken() && invalidTokens.add(result.getToken())) {
+                reasons.merge(result.getErrorCode().name(), 1, Integer::sum);
+            }
+        }
+        if (invalidTokens.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> tokens = new ArrayList<>(invalidTokens);
+        LocalDateTime now = LocalDateTime.now();
+        int deactivated = 0;
+        for (int from = 0; from < tokens.size(); from += PRUNE_CHUNK_SIZE) {
+            deactivated += subscriptionRepository.deactivateByFcmTokens(
+                    tokens.subList(from, Math.min(from + PRUNE_CHUNK_SIZE, tokens.size())), now);
+        }
+        subscriberIndex.removeTokens(invalidTokens);
+        
+        reasons.forEach((reason, count) -> Counter.builder("notification.tokens.pruned")
+                .description("FCM 오류 코드로 정리된 무효 토큰 수")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(count));
+        
+        logger.info("🧹 무효 FCM 토큰 {}개 정리: 구독 {}개 비활성화 {}", invalidTokens.size(), deactivated, reasons);
+        return deactivated;
+    }
+}
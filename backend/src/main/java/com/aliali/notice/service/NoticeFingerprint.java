@@ -0,0 +1,181 @@
+package com.aliali.notice.service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 게시물의 안정적인 64비트 식별자 (사이트 ID + 정규화된 URL 의 Murmur3 x64 128비트 해시의 앞 64비트)
+ * 링크가 없는 게시물은 정규화된 제목을 대신 사용한다.
+ * 같은 게시물은 크롤링할 때마다, 재시작 후에도 항상 같은 값이 나온다.
+ */
+public final class NoticeFingerprint {
+
+    // 게시물이 아니라 목록 위치에 따라 바뀌는 쿼리 파라미터 (지문 계산에서 제외)
+    private static final Set<String> IGNORED_PARAMS = Set.of(
+            "article.offset", "articlelimit", "pager.offset", "offset", "limit",
+            "page", "pageindex", "pageno", "jsessionid");
+
+    private NoticeFingerprint() {
+    }
+
+    public static long of(String siteId, String link, String title) {
+        String key = link != null && !link.trim().isEmpty()
+                ? normalizeUrl(link)
+                : "title:" + normalizeText(title);
+        return murmur3(siteId + '\n' + key);
+    }
+
+    /**
+     * externalId 컬럼에 저장할 문자열 표현
+     */
+    public static String toExternalId(long fingerprint) {
+        return Long.toHexString(fingerprint);
+    }
+
+    /**
+     * scheme/host 소문자화, 기본 포트/fragment/세션 ID 제거, 끝의 '/' 제거, 쿼리 파라미터 정렬
+     */
+    static String normalizeUrl(String link) {
+        String trimmed = link.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (uri.getScheme() != null) {
+            sb.append(uri.getScheme().toLowerCase(Locale.ROOT)).append("://");
+        }
+        if (uri.getRawAuthority() != null) {
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : uri.getRawAuthority();
+            sb.append(host);
+            int port = uri.getPort();
+            if (port != -1 && !(port == 80 && "http".equalsIgnoreCase(uri.getScheme()))
+                    && !(port == 443 && "https".equalsIgnoreCase(uri.getScheme()))) {
+                sb.append(':').append(port);
+            }
+        }
+
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        int sessionStart = path.toLowerCase(Locale.ROOT).indexOf(";jsessionid=");
+        if (sessionStart >= 0) {
+            path = path.substring(0, sessionStart);
+        }
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        sb.append(path);
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                int eq = param.indexOf('=');
+                String name = (eq >= 0 ? param.substring(0, eq) : param).toLowerCase(Locale.ROOT);
+                if (name.isEmpty() || IGNORED_PARAMS.contains(name) || (eq >= 0 && eq == param.length() - 1)) {
+                    continue;
+                }
+                params.add(param);
+            }
+            Collections.sort(params);
+            if (!params.isEmpty()) {
+                sb.append('?').append(String.join("&", params));
+            }
+        }
+        return sb.toString();
+    }
+
+    static String normalizeText(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * MurmurHash3 x64 128비트 (seed 0) 의 앞 64비트 (h1)
+     * 꼬리 바이트 처리는 참조 구현과 같이 case 를 의도적으로 이어서 실행한다 (fallthrough)
+     */
+    @SuppressWarnings("fallthrough")
+    static long murmur3(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        final long c1 = 0x87c37b91114253d5L;
+        final long c2 = 0x4cf5ad432745937fL;
+        int length = data.length;
+        int blocks = length / 16;
+        long h1 = 0;
+        long h2 = 0;
+
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+
+            k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27); h1 += h2; h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31); h2 += h1; h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        switch (length & 15) {
+            case 15: k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9:
+                k2 ^= data[tail + 8] & 0xff;
+                k2 *= c2; k2 = Long.rotateLeft(k2, 33); k2 *= c1; h2 ^= k2;
+            case 8: k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7: k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6: k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5: k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4: k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3: k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2: k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1:
+                k1 ^= data[tail] & 0xff;
+                k1 *= c1; k1 = Long.rotateLeft(k1, 31); k1 *= c2; h1 ^= k1;
+            default:
+                break;
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        return h1;
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        return (data[offset] & 0xffL)
+                | (data[offset + 1] & 0xffL) << 8
+                | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24
+                | (data[offset + 4] & 0xffL) << 32
+                | (data[offset + 5] & 0xffL) << 40
+                | (data[offset + 6] & 0xffL) << 48
+                | (data[offset + 7] & 0xffL) << 56;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
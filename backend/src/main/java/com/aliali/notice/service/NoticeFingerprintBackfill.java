@@ -0,0 +1,77 @@
+package com.aliali.notice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aliali.notice.entity.Notice;
+import com.aliali.notice.repository.NoticeRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * fingerprint 컬럼이 추가되기 전에 저장된 공지들의 지문을 채움
+ * 스케줄러가 시작되기 전(빈 초기화 단계)에 실행되므로 첫 크롤링부터 지문으로 중복 검사할 수 있다.
+ * 같은 지문이 나오는 중복 공지는 먼저 저장된 것만 남긴다.
+ */
+@Component
+public class NoticeFingerprintBackfill {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NoticeFingerprintBackfill.class);
+    
+    @Autowired
+    private NoticeRepository noticeRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PostConstruct
+    public void backfill() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> backfillMissing());
+        } catch (Exception e) {
+            logger.error("❌ 공지 지문 채우기 실패 (다음 시작 시 다시 시도): {}", e.getMessage());
+        }
+    }
+    
+    private void backfillMissing() {
+        List<Notice> missing = noticeRepository.findByFingerprintIsNull();
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.sort(Comparator.comparing(Notice::getId));
+        
+        Map<String, Set<Long>> fingerprintsBySite = new HashMap<>();
+        List<Notice> duplicates = new ArrayList<>();
+        for (Notice notice : missing) {
+            String siteId = notice.getSite().getId();
+            Set<Long> fingerprints = fingerprintsBySite.computeIfAbsent(siteId,
+                    id -> new HashSet<>(noticeRepository.findExistingFingerprintsBySiteId(id)));
+            long fingerprint = NoticeFingerprint.of(siteId, notice.getUrl(), notice.getTitle());
+            if (fingerprints.add(fingerprint)) {
+                notice.setFingerprint(fingerprint);
+            } else {
+                duplicates.add(notice);
+            }
+        }
+        
+        if (!duplicates.isEmpty()) {
+            noticeRepository.deleteAll(duplicates);
+        }
+        missing.removeAll(duplicates);
+        noticeRepository.saveAll(missing);
+        
+        logger.info("🔑 기존 공지 지문 채우기 완료: {}개 (중복 공지 {}개 삭제)", missing.size(), duplicates.size());
+    }
+}
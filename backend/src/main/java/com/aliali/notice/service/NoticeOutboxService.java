@@ -0,0 +1,61 @@
+package com.aliali.notice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aliali.notice.entity.Notice;
+import com.aliali.notice.entity.NotificationOutbox;
+import com.aliali.notice.entity.Site;
+import com.aliali.notice.repository.NoticeRepository;
+import com.aliali.notice.repository.NotificationOutboxRepository;
+import com.aliali.notice.repository.SiteRepository;
+
+/**
+ * 새 공지 저장 + 알림 outbox 기록을 하나의 트랜잭션으로 처리
+ * 실제 발송은 NotificationDispatcher 가 담당하고, 커밋된 공지는 NoticeStreamService 로 브라우저에 바로 밀어준다.
+ */
+@Service
+public class NoticeOutboxService {
+    
+    @Autowired
+    private NoticeRepository noticeRepository;
+    
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    
+    @Autowired
+    private SiteRepository siteRepository;
+    
+    @Autowired
+    private NoticeStreamService noticeStreamService;
+    
+    @Transactional
+    public Notice saveNoticeWithOutbox(Notice notice) {
+        Notice saved = noticeRepository.save(notice);
+        outboxRepository.save(NotificationOutbox.forNotice(saved));
+        noticeStreamService.publishAfterCommit(List.of(saved));
+        return saved;
+    }
+    
+    /**
+     * 한 사이트의 새 공지들과 outbox 항목들, 사이트의 크롤링 상태를 한 트랜잭션에서 일괄 저장
+     * 새 공지의 crawlGeneration 과 사이트의 세대가 함께 커밋되어야 새 공지 표시(isNew)가 어긋나지 않는다.
+     * 이미 저장된 (site, fingerprint) 가 섞여 있으면 유니크 제약 위반으로 전체가 롤백된다.
+     */
+    @Transactional
+    public List<Notice> saveNoticesWithOutbox(Site site, List<Notice> notices) {
+        siteRepository.save(site);
+        List<Notice> saved = noticeRepository.saveAll(notices);
+        List<NotificationOutbox> entries = new ArrayList<>(saved.size());
+        for (Notice notice : saved) {
+            entries.add(NotificationOutbox.forNotice(notice));
+        }
+        outboxRepository.saveAll(entries);
+        noticeStreamService.publishAfterCommit(saved);
+        return saved;
+    }
+}
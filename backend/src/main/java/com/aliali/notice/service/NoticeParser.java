@@ -0,0 +1,352 @@
+package com.aliali.notice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.aliali.notice.entity.Site;
+
+/**
+ * 게시판 HTML 에서 게시물 정보를 추출
+ * 사이트별 SiteExtractionPlan(미리 컴파일된 selector/정규식)을 사용한다.
+ */
+@Component
+public class NoticeParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoticeParser.class);
+
+    private static final String[] IMPORTANT_KEYWORDS = lowerCase("중요", "긴급", "공지", "[공지]", "[중요]", "[필독]", "필독");
+
+    @Autowired
+    private ExtractionPlanCache planCache;
+
+    @Value("${crawler.max-posts:10}")
+    private int maxPosts = 10;
+
+    public NoticeParser() {}
+
+    public NoticeParser(ExtractionPlanCache planCache, int maxPosts) {
+        this.planCache = planCache;
+        this.maxPosts = maxPosts;
+    }
+
+    // 게시물 정보를 나타내는 내부 클래스
+    public static class PostInfo {
+        private final String no;
+        private final String title;
+        private final String link;
+        private final boolean isImportant;
+
+        public PostInfo(String no, String title, String link, boolean isImportant) {
+            this.no = no;
+            this.title = title;
+            this.link = link;
+            this.isImportant = isImportant;
+        }
+
+        public String getNo() { return no; }
+        public String getTitle() { return title; }
+        public String getLink() { return link; }
+        public boolean isImportant() { return isImportant; }
+    }
+
+    public SiteExtractionPlan planFor(Site site) {
+        return planCache.planFor(site);
+    }
+
+    /**
+     * HTML에서 게시물들을 파싱 (고급 로직)
+     */
+    public List<PostInfo> parsePosts(Document doc, Site site) {
+        SiteExtractionPlan plan = planCache.planFor(site);
+        Elements allElements = doc.select(plan.getRowEvaluator());
+        return parseRows(allElements.subList(0, Math.min(maxPosts, allElements.size())), site, plan);
+    }
+
+    /**
+     * selector 로 선택된 게시물 행들을 파싱
+     */
+    public List<PostInfo> parseRows(List<Element> postElements, Site site) {
+        return parseRows(postElements, site, planCache.planFor(site));
+    }
+
+    private List<PostInfo> parseRows(List<Element> postElements, Site site, SiteExtractionPlan plan) {
+        List<PostInfo> posts = new ArrayList<>(postElements.size());
+
+        logger.info("[{}] 파싱 시작: {}개의 요소를 찾았습니다", site.getId(), postElements.size());
+
+        for (Element element : postElements) {
+            try {
+                String articleNo = extractPostNumber(element, site, plan);
+                String title = extractTitle(element);
+                String link = extractLink(element, site);
+
+                if (articleNo == null || title == null || title.trim().isEmpty()) {
+                    logger.warn("[{}] 게시물 건너뜀: articleNo={}, title={}", site.getId(), articleNo, title);
+                    continue;
+                }
+
+                // 중요 공지 판단
+                boolean isImportant = determineImportance(element, articleNo, title);
+
+                posts.add(new PostInfo(articleNo, title.trim(), link, isImportant));
+
+            } catch (Exception e) {
+                logger.warn("[{}] 게시물 파싱 실패: {}", site.getId(), e.getMessage());
+            }
+        }
+
+        logger.info("[{}] 파싱 완료: {}개의 유효한 게시물을 수집했습니다", site.getId(), posts.size());
+        return posts;
+    }
+
+    /**
+     * 게시물 번호 추출 (지난번에 성공한 방법부터 시도)
+     */
+    public String extractPostNumber(Element element, Site site, SiteExtractionPlan plan) {
+        int preferred = plan.getPreferredNumberMethod();
+        if (preferred != SiteExtractionPlan.NO_PREFERRED_METHOD) {
+            String articleNo = extractPostNumber(element, preferred);
+            if (articleNo != null) {
+                return articleNo;
+            }
+        }
+
+        for (int method = SiteExtractionPlan.METHOD_DATA_ATTRIBUTE; method < SiteExtractionPlan.METHOD_TITLE_HASH; method++) {
+            if (method == preferred) {
+                continue;
+            }
+            String articleNo = extractPostNumber(element, method);
+            if (articleNo != null) {
+                plan.recordNumberMethod(method);
+                return articleNo;
+            }
+        }
+
+        // 방법 5: 제목 기반 해시
+        String titleHash = generateConsistentId(element.text().trim());
+        if (titleHash != null) {
+            logger.warn("[{}] 게시물 번호를 찾을 수 없어 제목 해시 사용: {}", site.getId(), titleHash);
+            return titleHash;
+        }
+
+        return null;
+    }
+
+    private String extractPostNumber(Element element, int method) {
+        switch (method) {
+            case SiteExtractionPlan.METHOD_DATA_ATTRIBUTE: {
+                // 방법 1: data-article-no 속성
+                String articleNo = element.attr("data-article-no");
+                return articleNo.isEmpty() ? null : articleNo;
+            }
+            case SiteExtractionPlan.METHOD_HREF: {
+                // 방법 2: href에서 추출
+                Element link = element.selectFirst(SiteExtractionPlan.LINK);
+                if (link == null) {
+                    return null;
+                }
+                String href = link.attr("href");
+                if (href.isEmpty()) {
+                    return null;
+                }
+                for (Pattern pattern : SiteExtractionPlan.HREF_PATTERNS) {
+                    Matcher m = pattern.matcher(href);
+                    if (m.find()) {
+                        return m.group(1);
+                    }
+                }
+                return null;
+            }
+            case SiteExtractionPlan.METHOD_NUMBER_CELL: {
+                // 방법 3: 번호 컬럼에서 추출
+                Element numberCell = element.selectFirst(SiteExtractionPlan.NUMBER_CELL);
+                if (numberCell == null) {
+                    return null;
+                }
+                Matcher m = SiteExtractionPlan.DIGITS.matcher(numberCell.text().trim());
+                return m.find() ? m.group() : null;
+            }
+            case SiteExtractionPlan.METHOD_FULL_TEXT: {
+                // 방법 4: 전체 텍스트에서 번호 패턴 찾기
+                Matcher m = SiteExtractionPlan.LONG_NUMBER.matcher(element.text());
+                return m.find() ? m.group(1) : null;
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 제목 추출 (다양한 방식 시도)
+     */
+    public String extractTitle(Element element) {
+        // 방법 1: 링크 안의 텍스트
+        Element link = element.selectFirst(SiteExtractionPlan.LINK);
+        if (link != null) {
+            String linkTitle = link.text().trim();
+            if (!linkTitle.isEmpty()) {
+                return linkTitle;
+            }
+        }
+
+        // 방법 2: 제목 컬럼 클래스
+        for (Evaluator titleClass : SiteExtractionPlan.TITLE_CLASSES) {
+            Element titleEl = element.selectFirst(titleClass);
+            if (titleEl != null) {
+                String title = titleEl.text().trim();
+                if (!title.isEmpty()) {
+                    return title;
+                }
+            }
+        }
+
+        // 방법 3: 전체 텍스트에서 의미있는 부분 추출
+        String fullText = element.text().trim();
+        if (!fullText.isEmpty()) {
+            String cleanTitle = SiteExtractionPlan.LEADING_NUMBER.matcher(fullText).replaceAll(""); // 앞의 번호 제거
+            cleanTitle = SiteExtractionPlan.TRAILING_DATE.matcher(cleanTitle).replaceAll(""); // 뒤의 날짜 제거
+            cleanTitle = SiteExtractionPlan.WHITESPACE.matcher(cleanTitle).replaceAll(" ").trim();
+
+            if (!cleanTitle.isEmpty() && cleanTitle.length() > 5) {
+                return cleanTitle;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 링크 추출
+     */
+    public String extractLink(Element element, Site site) {
+        Element link = element.selectFirst(SiteExtractionPlan.LINK);
+        if (link == null) {
+            return site.getUrl();
+        }
+
+        String href = link.attr("href");
+        if (href.isEmpty()) {
+            return site.getUrl();
+        }
+
+        // 절대 URL인 경우 그대로 반환
+        if (href.startsWith("http")) {
+            return href;
+        }
+
+        String baseUrl = site.getUrl();
+
+        // 상대 URL 처리
+        if (href.startsWith("/")) {
+            // 절대 경로: /notice.do?no=123
+            return baseUrl + href;
+        } else if (href.startsWith("notice.do")) {
+            // notice.do로 시작하는 경우: notice.do?mode=view&no=123
+            // 사이트 URL이 notice.do로 끝나는 경우와 그렇지 않은 경우를 구분
+            if (baseUrl.endsWith("notice.do")) {
+                // 사이트 URL이 notice.do로 끝나는 경우: https://example.com/community/notice.do
+                // notice.do?mode=view&no=123 -> https://example.com/community/notice.do?mode=view&no=123
+                if (href.contains("?")) {
+                    return baseUrl + "?" + href.substring(href.indexOf('?') + 1);
+                } else {
+                    return baseUrl;
+                }
+            } else {
+                // 사이트 URL이 notice.do로 끝나지 않는 경우
+                // baseUrl에서 notice.do/ 형태를 notice.do로 정규화
+                String normalizedBaseUrl = baseUrl;
+                if (normalizedBaseUrl.endsWith("notice.do")) {
+                    normalizedBaseUrl = normalizedBaseUrl.substring(0, normalizedBaseUrl.length() - 1);
+                }
+
+                // notice.do?mode=view 형태로 직접 연결 (슬래시 없이)
+                return normalizedBaseUrl + href;
+            }
+        } else {
+            // 기타 상대 URL
+            // baseUrl이 이미 /로 끝나는지 확인하여 중복 슬래시 방지
+            if (baseUrl.endsWith("/")) {
+                return baseUrl + href;
+            } else {
+                return baseUrl + "" + href;
+            }
+        }
+    }
+
+    /**
+     * 중요 공지 판단
+     */
+    public boolean determineImportance(Element element, String articleNo, String title) {
+        // 번호가 숫자가 아닌 경우 (공지, 중요 등)
+        if (!isNumeric(articleNo)) {
+            return true;
+        }
+
+        // 제목에 중요 키워드가 있는 경우
+        String lowerTitle = title.toLowerCase();
+        for (String keyword : IMPORTANT_KEYWORDS) {
+            if (lowerTitle.contains(keyword)) {
+                return true;
+            }
+        }
+
+        // 특별한 스타일이 적용된 경우
+        return element.selectFirst(SiteExtractionPlan.IMPORTANT_MARKER) != null ||
+               element.hasClass("notice") ||
+               element.hasClass("important");
+    }
+
+    /**
+     * 제목 기반 일관성 있는 ID 생성
+     */
+    public String generateConsistentId(String text) {
+        if (text == null || text.trim().length() < 5) {
+            return null;
+        }
+
+        String normalized = SiteExtractionPlan.WHITESPACE.matcher(text.trim()).replaceAll(" ");
+        normalized = SiteExtractionPlan.NON_WORD.matcher(normalized).replaceAll("");
+        normalized = normalized.substring(0, Math.min(100, normalized.length()));
+
+        if (normalized.length() < 5) {
+            return null;
+        }
+
+        // 간단한 해시 함수
+        int hash = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            hash = ((hash << 5) - hash) + c;
+        }
+
+        return "hash_" + Math.abs(hash);
+    }
+
+    /**
+     * 숫자로만 이루어진 게시물 번호인지 확인
+     */
+    public static boolean isNumeric(String articleNo) {
+        return SiteExtractionPlan.DIGITS.matcher(articleNo).matches();
+    }
+
+    private static String[] lowerCase(String... keywords) {
+        String[] lowered = new String[keywords.length];
+        for (int i = 0; i < keywords.length; i++) {
+            lowered[i] = keywords[i].toLowerCase(Locale.ROOT);
+        }
+        return lowered;
+    }
+}
@@ -0,0 +1,80 @@
+package com.aliali.notice.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.aliali.notice.config.CacheConfig;
+import com.aliali.notice.dto.NoticeCursor;
+import com.aliali.notice.dto.NoticeDto;
+import com.aliali.notice.entity.Notice;
+import com.aliali.notice.repository.NoticeRepository;
+
+/**
+ * 공지 목록 조회 (캐시 적용)
+ * 커서 없는 첫 페이지만 캐시한다 - 앱을 열 때마다 호출되는 요청이 대부분 여기에 해당한다.
+ */
+@Service
+public class NoticeReadService {
+    
+    @Autowired
+    private NoticeRepository noticeRepository;
+    
+    /**
+     * 공지 목록 한 페이지와 다음 페이지 커서 (없으면 null)
+     */
+    public static class NoticePage {
+        private final List<NoticeDto> notices;
+        private final String nextCursor;
+        
+        public NoticePage(List<NoticeDto> notices, String nextCursor) {
+            this.notices = notices;
+            this.nextCursor = nextCursor;
+        }
+        
+        public List<NoticeDto> getNotices() { return notices; }
+        public String getNextCursor() { return nextCursor; }
+    }
+    
+    /**
+     * 공지 목록 첫 페이지 (사이트/카테고리/isNew 필터 조합과 크기별로 캐시)
+     */
+    @Cacheable(cacheNames = CacheConfig.NOTICE_PAGES, key = "{#siteId, #category, #isNew, #size}")
+    public NoticePage getFirstNoticePage(String siteId, String category, Boolean isNew, int size) {
+        return getNoticePage(siteId, category, isNew, null, size);
+    }
+    
+    /**
+     * 공지 목록 한 페이지 (publishedAt, id 내림차순 keyset, 쿼리 한 번)
+     */
+    public NoticePage getNoticePage(String siteId, String category, Boolean isNew, NoticeCursor after, int size) {
+        // 한 개 더 조회해서 다음 페이지 존재 여부 확인
+        List<Notice> notices = noticeRepository.findNoticePage(siteId, category, isNew,
+                after != null ? after.getPublishedAt() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, size + 1));
+        
+        String nextCursor = null;
+        if (notices.size() > size) {
+            notices = notices.subList(0, size);
+            nextCursor = NoticeCursor.after(notices.get(size - 1)).encode();
+        }
+        List<NoticeDto> noticeDtos = notices.stream()
+                .map(NoticeDto::new)
+                .collect(Collectors.toList());
+        return new NoticePage(noticeDtos, nextCursor);
+    }
+    
+    /**
+     * 공지가 저장/삭제되었거나 isNew 가 바뀌었을 때 (사이트 크롤링 세대 변경 포함)
+     * 전체 목록 페이지에도 모든 사이트의 공지가 섞이므로 사이트 단위가 아니라 전부 무효화한다.
+     */
+    @CacheEvict(cacheNames = CacheConfig.NOTICE_PAGES, allEntries = true)
+    public void evictNotices() {
+    }
+}
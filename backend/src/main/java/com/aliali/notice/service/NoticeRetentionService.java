@@ -0,0 +1,70 @@
+package com.aliali.notice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aliali.notice.entity.Site;
+import com.aliali.notice.repository.NoticeRepository;
+
+/**
+ * 사이트별 공지 보관 개수 제한
+ * 크롤링마다 사이트당 한 번, 최신 N개(publishedAt 기준)만 남기는 DELETE 한 문장으로 정리한다.
+ * N 은 crawler.retention.sites.{siteId} → crawler.retention.categories.{category} → crawler.retention.max-notices 순으로 정한다.
+ * crawler.retention.archive=true 면 삭제 전에 notice_archive 로 옮긴다.
+ */
+@Service
+public class NoticeRetentionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NoticeRetentionService.class);
+    
+    @Autowired
+    private NoticeRepository noticeRepository;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Value("${crawler.retention.max-notices:10}")
+    private int defaultMaxNotices;
+    
+    @Value("${crawler.retention.archive:false}")
+    private boolean archive;
+    
+    /**
+     * 사이트의 보관 개수
+     */
+    public int maxNoticesFor(Site site) {
+        Integer bySite = environment.getProperty("crawler.retention.sites." + site.getId(), Integer.class);
+        if (bySite != null) {
+            return bySite;
+        }
+        if (site.getCategory() != null) {
+            Integer byCategory = environment.getProperty("crawler.retention.categories." + site.getCategory(), Integer.class);
+            if (byCategory != null) {
+                return byCategory;
+            }
+        }
+        return defaultMaxNotices;
+    }
+    
+    /**
+     * 보관 개수를 넘는 오래된 공지 정리
+     * @return 삭제된 공지 수
+     */
+    @Transactional
+    public int trim(Site site) {
+        int keep = maxNoticesFor(site);
+        int archived = archive ? noticeRepository.archiveAllButLatest(site.getId(), keep) : 0;
+        int deleted = noticeRepository.deleteAllButLatest(site.getId(), keep);
+        
+        if (deleted > 0) {
+            logger.info("🧹 [{}] 보관 개수({}개)를 넘은 오래된 게시글 {}개를 삭제했습니다{}", site.getId(), keep, deleted,
+                    archive ? " (보관 " + archived + "개)" : "");
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,337 @@
+package com.aliali.notice.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.aliali.notice.dto.NoticeDto;
+import com.aliali.notice.entity.Notice;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 새 공지를 브라우저에 SSE 로 밀어주는 스트림 (GET /notices/stream)
+ * - 연결은 서블릿 비동기 응답(SseEmitter)이라 연결마다 스레드를 잡지 않는다
+ * - 구독자마다 보낼 이벤트 큐를 두고, 큐를 비우는 작업을 noticeStreamExecutor(가상 스레드)에서 돌린다
+ *   느린 클라이언트는 자기 큐만 밀리고, 큐가 send-queue-size 를 넘으면 연결을 끊는다 (Last-Event-ID 로 재연결)
+ * - 최근 이벤트를 링 버퍼에 보관해 Last-Event-ID 로 재연결하면 놓친 공지를 다시 보낸다
+ * 이벤트 ID 는 "{서버 시작 시각}-{순번}" 이라, 재시작 전 ID 나 버퍼보다 오래된 ID 로 재연결하면
+ * reset 이벤트를 보내 클라이언트가 목록을 새로 받게 한다.
+ */
+@Service
+public class NoticeStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoticeStreamService.class);
+
+    public static final String EVENT_NOTICE = "notice";
+    public static final String EVENT_RESET = "reset";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("noticeStreamExecutor")
+    private ExecutorService streamExecutor;
+
+    @Value("${notification.stream.timeout:1800000}")
+    private long timeout;
+
+    @Value("${notification.stream.replay-size:500}")
+    private int replaySize;
+
+    @Value("${notification.stream.max-connections:5000}")
+    private int maxConnections;
+
+    @Value("${notification.stream.send-queue-size:1000}")
+    private int sendQueueSize;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // 최근 이벤트 (오래된 것부터, replaySize 개까지)
+    private final Deque<StreamEvent> recentEvents = new ArrayDeque<>();
+
+    private long sequence;
+
+    /**
+     * 전송할 이벤트 하나 (JSON 은 발행 시 한 번만 직렬화)
+     */
+    static final class StreamEvent {
+        final long sequence;
+        final String id;
+        final String siteId;
+        final String json;
+
+        StreamEvent(long sequence, String id, String siteId, String json) {
+            this.sequence = sequence;
+            this.id = id;
+            this.siteId = siteId;
+            this.json = json;
+        }
+    }
+
+    /**
+     * 연결 하나와 구독 사이트 필터 (비어 있으면 전체), 아직 보내지 못한 이벤트 큐
+     */
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<String> siteIds;
+        final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendingCount = new AtomicInteger();
+        // 큐를 비우는 작업이 실행 중인지 (구독자당 하나만 실행해 순서 유지)
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<String> siteIds) {
+            this.emitter = emitter;
+            this.siteIds = siteIds;
+        }
+
+        boolean accepts(String siteId) {
+            return siteIds.isEmpty() || siteIds.contains(siteId);
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        // 재전송분이 큐에 다 들어가지 못하면 연결 직후 끊기고 재연결해도 같은 일이 반복된다
+        if (sendQueueSize < replaySize) {
+            throw new IllegalStateException("notification.stream.send-queue-size(" + sendQueueSize
+                    + ") 는 replay-size(" + replaySize + ") 이상이어야 합니다");
+        }
+        Gauge.builder("notice.stream.connections", subscribers, List::size)
+                .description("공지 SSE 스트림 연결 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 연결 등록
+     * @param lastEventId 재연결 시 마지막으로 받은 이벤트 ID (없으면 null)
+     * @return 연결 수 제한을 넘으면 null
+     */
+    public SseEmitter subscribe(Set<String> siteIds, String lastEventId) {
+        if (subscribers.size() >= maxConnections) {
+            logger.warn("⚠️ 공지 스트림 연결 수 제한 초과: {}", maxConnections);
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter, siteIds);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // 등록과 재전송 예약을 발행과 같은 잠금 안에서 해야 사이에 발행된 이벤트를 놓치거나 중복하지 않는다
+        synchronized (recentEvents) {
+            List<StreamEvent> replay = replayAfter(lastEventId, subscriber);
+            subscribers.add(subscriber);
+            // 재전송분이 전송 큐보다 많으면 보내다가 끊기므로 목록을 새로 받게 한다
+            if (replay == null || replay.size() > sendQueueSize) {
+                enqueue(subscriber, event(EVENT_RESET).data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                for (StreamEvent event : replay) {
+                    enqueue(subscriber, toSseEvent(event));
+                }
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * 저장한 공지들을 스트림에 발행 (트랜잭션 안이면 커밋된 뒤에)
+     */
+    public void publishAfterCommit(Collection<Notice> notices) {
+        if (notices.isEmpty()) {
+            return;
+        }
+        List<NoticeDto> dtos = new ArrayList<>(notices.size());
+        for (Notice notice : notices) {
+            dtos.add(new NoticeDto(notice));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(dtos);
+                }
+            });
+        } else {
+            publish(dtos);
+        }
+    }
+
+    private void publish(List<NoticeDto> notices) {
+        List<StreamEvent> events = new ArrayList<>(notices.size());
+        synchronized (recentEvents) {
+            for (NoticeDto notice : notices) {
+                String json;
+                try {
+                    json = objectMapper.writeValueAsString(notice);
+                } catch (JsonProcessingException e) {
+                    logger.error("❌ 공지 스트림 이벤트 직렬화 실패: {}", e.getMessage());
+                    continue;
+                }
+                long next = ++sequence;
+                StreamEvent event = new StreamEvent(next, epoch + "-" + next, notice.getSiteId(), json);
+                recentEvents.addLast(event);
+                if (recentEvents.size() > replaySize) {
+                    recentEvents.removeFirst();
+                }
+                events.add(event);
+            }
+            // 지금 연결된 구독자의 큐에 넣음 (이후 연결은 재전송 목록에 이미 포함됨)
+            for (Subscriber subscriber : subscribers) {
+                for (StreamEvent event : events) {
+                    if (subscriber.accepts(event.siteId)) {
+                        enqueue(subscriber, toSseEvent(event));
+                    }
+                }
+            }
+        }
+        logger.debug("📡 공지 스트림 발행: {}개 -> 연결 {}개", events.size(), subscribers.size());
+    }
+
+    /**
+     * 프록시/브라우저가 유휴 연결을 끊지 않도록 주석 한 줄을 주기적으로 보냄
+     * 끊어진 연결도 이때 정리된다. 큐에 넣기만 하므로 스케줄러 스레드를 오래 잡지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-interval:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    /**
+     * lastEventId 이후 구독자가 받을 이벤트 (재전송할 수 없으면 null)
+     */
+    private List<StreamEvent> replayAfter(String lastEventId, Subscriber subscriber) {
+        if (lastEventId == null || lastEventId.isEmpty()) {
+            return List.of();
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // 재시작 전 이벤트이거나 버퍼에서 밀려난 이벤트 이후를 요청
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch) || lastSequence > sequence) {
+            return null;
+        }
+        StreamEvent oldest = recentEvents.peekFirst();
+        if (oldest != null && lastSequence < oldest.sequence - 1) {
+            return null;
+        }
+
+        List<StreamEvent> replay = new ArrayList<>();
+        for (StreamEvent event : recentEvents) {
+            if (event.sequence > lastSequence && subscriber.accepts(event.siteId)) {
+                replay.add(event);
+            }
+        }
+        return replay;
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(StreamEvent event) {
+        return event(EVENT_NOTICE).id(event.id).data(event.json, MediaType.APPLICATION_JSON);
+    }
+
+    private static SseEmitter.SseEventBuilder event(String name) {
+        return SseEmitter.event().name(name);
+    }
+
+    /**
+     * 구독자 큐에 이벤트를 넣고, 큐를 비우는 작업이 없으면 시작
+     * 큐가 send-queue-size 를 넘으면 따라오지 못하는 연결로 보고 끊는다.
+     */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.pendingCount.incrementAndGet() > sendQueueSize) {
+            logger.warn("⚠️ 공지 스트림 전송 지연 - 연결을 끊습니다 (대기 이벤트 {}개 초과)", sendQueueSize);
+            close(subscriber);
+            // 전송 중인 작업이 없으면 여기서 끝냄 (있으면 그 작업이 끝내고 나감)
+            scheduleDrain(subscriber);
+            return;
+        }
+        subscriber.pending.add(event);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            streamExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+            logger.warn("공지 스트림 전송이 거부되었습니다 (종료 중): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 구독자 큐를 순서대로 전송 (구독자당 한 작업만 실행되므로 느린 연결은 자기 작업만 막힌다)
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                subscriber.pendingCount.decrementAndGet();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                }
+            }
+            if (subscriber.closed) {
+                subscriber.pending.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // 플래그를 내린 사이에 들어온 이벤트가 있으면 이어서 처리
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,226 @@
+package com.aliali.notice.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aliali.notice.entity.NotificationOutbox;
+import com.aliali.notice.repository.NotificationOutboxRepository;
+
+/**
+ * notification_outbox 를 주기적으로 읽어 알림을 발송 (at-least-once)
+ * - PENDING 항목을 SENDING 으로 선점한 뒤 notificationDispatchExecutor 에서 기기별로 묶어 발송
+ *   (batch-size 단위 배치를 dispatch-concurrency 개까지 동시에)
+ * - 크롤링 사이클 중에는 발송을 보류하고, 사이클이 끝나면 그 사이클의 새 공지를 한꺼번에 발송
+ * - 일시적 오류는 지수 백오프로 재시도, max-attempts 를 넘으면 FAILED
+ *   (일부 토큰만 실패하면 항목의 pendingTokens 에 그 토큰들만 남겨 이미 받은 기기에는 다시 보내지 않음)
+ * - 발송 도중 종료되어 SENDING 으로 남은 항목은 lease-timeout 후 다시 PENDING 으로 돌린다
+ */
+@Component
+public class NotificationDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+    
+    @Autowired
+    @Qualifier("notificationDispatchExecutor")
+    private ExecutorService dispatchExecutor;
+    
+    @Value("${notification.outbox.batch-size:500}")
+    private int batchSize;
+    
+    // 동시에 발송 중일 수 있는 배치 수 (notificationDispatchExecutor 크기와 같음)
+    @Value("${notification.outbox.dispatch-concurrency:4}")
+    private int dispatchConcurrency;
+    
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${notification.outbox.retry-delay:30000}")
+    private long retryDelayMillis;
+    
+    @Value("${notification.outbox.lease-timeout:600000}")
+    private long leaseTimeoutMillis;
+    
+    @Value("${notification.outbox.retention-hours:24}")
+    private int retentionHours;
+    
+    @Value("${notification.coalesce.max-hold:900000}")
+    private long maxHoldMillis;
+    
+    // 진행 중인 크롤링 사이클 수 (스케줄 크롤링과 수동 크롤링이 겹칠 수 있음)
+    private int activeCycles;
+    
+    // 진행 중인 사이클이 하나도 없다가 처음 시작된 시각 (보류 시작 시각)
+    private long holdStartedAt;
+    
+    /**
+     * 크롤링 사이클 시작: 모든 사이클이 끝날 때까지 발송을 보류해 사이클의 새 공지를 기기별로 묶는다
+     */
+    public synchronized void beginCycle() {
+        if (activeCycles++ == 0) {
+            holdStartedAt = System.currentTimeMillis();
+        }
+    }
+    
+    /**
+     * 크롤링 사이클 종료: 마지막 사이클이 끝나면 다음 폴링에서 보류된 알림을 묶어서 발송
+     */
+    public synchronized void endCycle() {
+        if (activeCycles > 0) {
+            activeCycles--;
+        }
+    }
+    
+    private synchronized boolean isHolding() {
+        if (activeCycles == 0) {
+            return false;
+        }
+        // 사이클이 비정상적으로 길어지면 보류를 풀고 발송
+        return System.currentTimeMillis() - holdStartedAt < maxHoldMillis;
+    }
+    
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:2000}")
+    public void dispatchPending() {
+        // 빈 인덱스로 발송하면 구독자가 없는 것으로 처리되어 SENT 로 사라지므로 인덱스가 준비될 때까지 보류
+        if (!subscriberIndex.ensureReady()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        
+        int released = outboxRepository.releaseStale(now.minusNanos(leaseTimeoutMillis * 1_000_000L));
+        if (released > 0) {
+            logger.warn("♻️ 발송 중 중단된 알림 {}개를 다시 대기열에 넣었습니다", released);
+        }
+        
+        if (isHolding()) {
+            logger.debug("크롤링 사이클 진행 중 - 알림 발송 보류");
+            return;
+        }
+        
+        // 배치를 선점하는 대로 디스패처 풀에 넘기고, 동시에 dispatch-concurrency 개까지만 발송
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+        List<NotificationOutbox> ready;
+        do {
+            ready = outboxRepository.findReadyToDispatch(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (ready.isEmpty()) {
+                break;
+            }
+            CompletableFuture<Void> batch = dispatch(ready);
+            if (batch != null) {
+                inFlight.addLast(batch);
+                if (inFlight.size() >= dispatchConcurrency) {
+                    inFlight.removeFirst().join();
+                }
+            }
+        } while (ready.size() == batchSize);
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        
+        outboxRepository.deleteSentBefore(now.minusHours(retentionHours));
+    }
+    
+    /**
+     * 대기 항목들을 선점하고 한 번에 묶어서 발송 (기기별 다이제스트)
+     * @return 발송 작업 (선점한 항목이 없거나 작업이 거부되면 null)
+     */
+    private CompletableFuture<Void> dispatch(List<NotificationOutbox> entries) {
+        List<NotificationOutbox> claimed = new ArrayList<>(entries.size());
+        for (NotificationOutbox entry : entries) {
+            if (outboxRepository.claim(entry.getId(), LocalDateTime.now()) == 0) {
+                continue; // 이미 다른 곳에서 선점
+            }
+            entry.setAttempts(entry.getAttempts() + 1);
+            claimed.add(entry);
+        }
+        if (claimed.isEmpty()) {
+            return null;
+        }
+        
+        try {
+            return CompletableFuture.runAsync(() -> dispatchClaimed(claimed), dispatchExecutor);
+        } catch (RejectedExecutionException e) {
+            // 종료 중 - 선점한 항목은 lease-timeout 후 다시 발송된다
+            logger.warn("알림 발송 작업이 거부되었습니다 (종료 중): {}개", claimed.size());
+            return null;
+        }
+    }
+    
+    private void dispatchClaimed(List<NotificationOutbox> entries) {
+        boolean delivered;
+        String error = null;
+        try {
+            delivered = notificationService.deliver(entries);
+        } catch (Exception e) {
+            delivered = false;
+            error = e.getMessage();
+            logger.error("❌ 알림 발송 중 오류 ({}개): {}", entries.size(), e.getMessage());
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox entry : entries) {
+            entry.setLockedAt(null);
+            if (delivered && !entry.hasPendingTokens()) {
+                entry.setStatus(NotificationOutbox.STATUS_SENT);
+                entry.setSentAt(now);
+                entry.setLastError(null);
+                continue;
+            }
+            // 발송은 되었지만 받지 못한 토큰이 남은 항목은 그 토큰들(pendingTokens)만 재시도
+            String entryError = error != null ? error
+                    : delivered ? "transient failure for " + entry.getPendingTokens().size() + " tokens" : "delivery failed";
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(NotificationOutbox.STATUS_FAILED);
+                entry.setLastError(truncate(entryError));
+                logger.error("🚫 알림 발송 포기 ({}회 시도): [{}] {}", entry.getAttempts(), entry.getSiteName(), entry.getTitle());
+            } else {
+                // 지수 백오프: retry-delay * 2^(attempts-1)
+                long delay = retryDelayMillis << Math.min(entry.getAttempts() - 1, 10);
+                entry.setStatus(NotificationOutbox.STATUS_PENDING);
+                entry.setNextAttemptAt(now.plusNanos(delay * 1_000_000L));
+                entry.setLastError(truncate(entryError));
+                logger.warn("🔁 알림 재시도 예정 ({}ms 후, {}회째): [{}] {}", delay, entry.getAttempts(), entry.getSiteName(), entry.getTitle());
+            }
+        }
+        outboxRepository.saveAll(entries);
+    }
+    
+    /**
+     * outbox 상태별 개수
+     */
+    public Map<String, Long> getOutboxStatus() {
+        Map<String, Long> status = new HashMap<>();
+        status.put("pending", outboxRepository.countByStatus(NotificationOutbox.STATUS_PENDING));
+        status.put("sending", outboxRepository.countByStatus(NotificationOutbox.STATUS_SENDING));
+        status.put("failed", outboxRepository.countByStatus(NotificationOutbox.STATUS_FAILED));
+        return status;
+    }
+    
+    private static String truncate(String error) {
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,123 @@
+package com.aliali.notice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.aliali.notice.entity.NotificationOutbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * FCM 알림 메시지 (제목/본문/data 페이로드)
+ * 공지 하나면 일반 알림, 여러 개면 기기별 다이제스트 알림
+ */
+public class NotificationMessage {
+    
+    // FCM 메시지 페이로드 한도 (notification 제목/본문 + data 를 합친 크기)
+    static final int PAYLOAD_LIMIT_BYTES = 4096;
+    
+    // 키 이름, 메타데이터 등 제목/본문/data 값 외에 페이로드에 붙는 몫
+    private static final int PAYLOAD_OVERHEAD_BYTES = 256;
+    
+    private static final int TITLE_PREVIEW_LENGTH = 50;
+    
+    private final String title;
+    private final String body;
+    private final String data;
+    
+    private NotificationMessage(String title, String body, String data) {
+        this.title = title;
+        this.body = body;
+        this.data = data;
+    }
+    
+    public static NotificationMessage of(String title, String body, String data) {
+        return new NotificationMessage(title, body, data);
+    }
+    
+    /**
+     * 공지 하나의 알림 (data 가 한도를 넘으면 제목을 줄여서 담음)
+     */
+    public static NotificationMessage single(NotificationOutbox entry, ObjectMapper objectMapper) {
+        String title = "🔔 새 공지사항";
+        String body = String.format("[%s] %s", entry.getSiteName(), preview(entry.getTitle()));
+        int budget = dataBudget(title, body);
+        
+        ObjectNode data = objectMapper.createObjectNode().put("type", "new_notice");
+        noticeFields(data, entry, entry.getTitle());
+        String json = write(objectMapper, data);
+        if (utf8Length(json) > budget) {
+            noticeFields(data, entry, preview(entry.getTitle()));
+            json = write(objectMapper, data);
+        }
+        return new NotificationMessage(title, body, json);
+    }
+    
+    /**
+     * 여러 공지의 다이제스트 알림
+     * data 의 UTF-8 크기가 한도 안에 들어오는 만큼만 notices 에 담고, count 는 전체 공지 수
+     */
+    public static NotificationMessage digest(List<NotificationOutbox> entries, ObjectMapper objectMapper) {
+        NotificationOutbox first = entries.get(0);
+        String title = String.format("🔔 새 공지사항 %d건", entries.size());
+        String body = String.format("[%s] %s 외 %d건", first.getSiteName(), preview(first.getTitle()), entries.size() - 1);
+        int budget = dataBudget(title, body);
+        
+        ObjectNode data = objectMapper.createObjectNode()
+                .put("type", "new_notice_digest")
+                .put("count", entries.size());
+        ArrayNode notices = data.putArray("notices");
+        // 빈 배열일 때 크기에 항목 크기(+ 구분 쉼표)를 더해 가며 담는다
+        int size = utf8Length(write(objectMapper, data));
+        for (NotificationOutbox entry : entries) {
+            ObjectNode item = objectMapper.createObjectNode();
+            noticeFields(item, entry, preview(entry.getTitle()));
+            int itemSize = utf8Length(write(objectMapper, item)) + (notices.isEmpty() ? 0 : 1);
+            if (size + itemSize > budget) {
+                break;
+            }
+            notices.add(item);
+            size += itemSize;
+        }
+        return new NotificationMessage(title, body, write(objectMapper, data));
+    }
+    
+    private static void noticeFields(ObjectNode node, NotificationOutbox entry, String title) {
+        node.put("noticeId", entry.getNoticeId());
+        node.put("siteId", nullToEmpty(entry.getSiteId()));
+        node.put("siteName", nullToEmpty(entry.getSiteName()));
+        node.put("title", nullToEmpty(title));
+        node.put("url", nullToEmpty(entry.getUrl()));
+        node.put("publishedAt", entry.getPublishedAt() != null ? entry.getPublishedAt().toString() : "");
+    }
+    
+    private static int dataBudget(String title, String body) {
+        return PAYLOAD_LIMIT_BYTES - PAYLOAD_OVERHEAD_BYTES - utf8Length(title) - utf8Length(body);
+    }
+    
+    private static String write(ObjectMapper objectMapper, ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("알림 data 직렬화 실패", e);
+        }
+    }
+    
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+    
+    private static String preview(String title) {
+        return title.length() > TITLE_PREVIEW_LENGTH ? title.substring(0, TITLE_PREVIEW_LENGTH) + "..." : title;
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+    
+    public String getTitle() { return title; }
+    public String getBody() { return body; }
+    public String getData() { return data; }
+}
@@ -1,98 +1,254 @@
 package com.aliali.notice.service;
 
 import com.aliali.notice.entity.Notice;
-import com.aliali.notice.entity.Site;
-import com.aliali.notice.entity.Subscription;
+import com.aliali.notice.entity.NotificationOutbox;
 import com.aliali.notice.repository.SubscriptionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class NotificationService {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
+    // lastNotified 일괄 UPDATE 한 번에 넣을 최대 ID 수
+    private static final int LAST_NOTIFIED_CHUNK_SIZE = 1000;
+    
     @Autowired
     private FirebaseService firebaseService;
     
     @Autowired
     private SubscriptionRepository subscriptionRepository;
     
+    @Autowired
+    private SubscriberIndex subscriberIndex;
+    
+    @Autowired
+    private InvalidTokenPruner invalidTokenPruner;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private FcmDispatcher fcmDispatcher;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private DistributionSummary sendsPerNotice;
+    private Counter deduplicatedSends;
+    private Counter coalescedSends;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        sendsPerNotice = DistributionSummary.builder("notification.sends.per.notice")
+                .description("공지 하나당 실제 발송한 메시지 수 (중복 제거/기기별 묶음 후)")
+                .register(meterRegistry);
+        deduplicatedSends = Counter.builder("notification.sends.deduplicated")
+                .description("같은 토큰이 중복되어 생략한 발송 수")
+                .register(meterRegistry);
+        coalescedSends = Counter.builder("notification.sends.coalesced")
+                .description("여러 공지를 기기별 다이제스트로 묶어 줄인 발송 수")
+                .register(meterRegistry);
+    }
+    
     public void sendNotificationForNewNotice(Notice notice) {
-        logger.info("🔔 알림 발송 시작: [{}] {}", notice.getSite().getName(), notice.getTitle());
+        deliver(List.of(NotificationOutbox.forNotice(notice)));
+    }
+    
+    /**
+     * 토큰 하나에 보낼 공지들 (entries 인덱스)과 그 토큰으로 등록된 구독 ID들
+     */
+    private static class TokenTarget {
+        final List<Integer> entryIndexes = new ArrayList<>(1);
+        final List<Long> subscriptionIds = new ArrayList<>(1);
+    }
+    
+    /**
+     * outbox 항목들을 구독자들에게 발송 (기기별로 묶어서 발송)
+     * 토큰마다 받을 공지가 하나면 일반 알림, 여러 개면 다이제스트 알림 한 건을 보낸다.
+     * 같은 공지 묶음을 받는 토큰끼리는 멀티캐스트로 함께 보낸다.
+     * 항목에 재시도 토큰(pendingTokens)이 있으면 그 토큰에만 보내고, 발송 후에는 FcmDispatcher 의 재시도 뒤에도
+     * 일시적인 오류로 받지 못한 토큰을 항목마다 pendingTokens 로 기록한다 (비어 있으면 그 항목은 완료).
+     * @return 항목별 결과가 기록되었으면 true, Firebase 를 쓸 수 없어 전체를 다시 시도해야 하면 false
+     */
+    public boolean deliver(List<NotificationOutbox> entries) {
+        for (NotificationOutbox entry : entries) {
+            logger.info("🔔 알림 발송 시작: [{}] {}", entry.getSiteName(), entry.getTitle());
+        }
         
         if (!firebaseService.isFirebaseAvailable()) {
-            logger.warn("Firebase not available, skipping notification for notice: {}", notice.getTitle());
-            logger.info("📢 새 공지사항 감지됨: [{}] {}", notice.getSite().getName(), notice.getTitle());
-            return;
+            logger.warn("Firebase not available, skipping notification for {} notices", entries.size());
+            for (NotificationOutbox entry : entries) {
+                logger.info("📢 새 공지사항 감지됨: [{}] {}", entry.getSiteName(), entry.getTitle());
+            }
+            return false;
         }
         
-        Site site = notice.getSite();
-        List<Subscription> subscriptions = subscriptionRepository.findActiveSubscriptionsBySite(site);
+        // 구독자 인덱스에서 토큰별 대상 공지 수집 (DB 조회 없음, 같은 토큰은 한 번만)
+        Map<String, TokenTarget> targets = new LinkedHashMap<>();
+        int subscriptionCount = 0;
+        for (int e = 0; e < entries.size(); e++) {
+            SubscriberIndex.SiteSubscribers subscribers = subscriberIndex.subscribersOf(entries.get(e).getSiteId());
+            logger.info("🔍 구독자 검색 결과: 사이트={}, 구독자 수={}", entries.get(e).getSiteName(), subscribers.size());
+            subscriptionCount += subscribers.size();
+            Set<String> pendingTokens = entries.get(e).getPendingTokens();
+            for (int i = 0; i < subscribers.size(); i++) {
+                // 재시도 항목은 지난번에 받지 못한 토큰에만
+                if (pendingTokens != null && !pendingTokens.contains(subscribers.getToken(i))) {
+                    continue;
+                }
+                TokenTarget target = targets.computeIfAbsent(subscribers.getToken(i), token -> new TokenTarget());
+                if (target.entryIndexes.isEmpty() || target.entryIndexes.get(target.entryIndexes.size() - 1) != e) {
+                    target.entryIndexes.add(e);
+                }
+                target.subscriptionIds.add(subscribers.getId(i));
+            }
+        }
         
-        logger.info("🔍 구독자 검색 결과: 사이트={}, 구독자 수={}", site.getName(), subscriptions.size());
+        if (targets.isEmpty()) {
+            logger.info("No active subscriptions found for {} notices", entries.size());
+            for (NotificationOutbox entry : entries) {
+                entry.setPendingTokens(null);
+            }
+            return true;
+        }
         
-        if (subscriptions.isEmpty()) {
-            logger.info("No active subscriptions found for site: {}", site.getName());
-            return;
+        // 같은 공지 묶음을 받는 토큰끼리 그룹화
+        Map<List<Integer>, List<String>> tokensByEntries = new LinkedHashMap<>();
+        int perNoticeSends = 0;
+        for (Map.Entry<String, TokenTarget> target : targets.entrySet()) {
+            tokensByEntries.computeIfAbsent(target.getValue().entryIndexes, key -> new ArrayList<>()).add(target.getKey());
+            perNoticeSends += target.getValue().entryIndexes.size();
         }
         
-        // 알림 제목과 내용 구성
-        String title = "🔔 새 공지사항";
-        String body = String.format("[%s] %s", site.getName(), 
-                notice.getTitle().length() > 50 ? 
-                notice.getTitle().substring(0, 50) + "..." : 
-                notice.getTitle());
-        
-        // 알림 데이터 구성 (더 상세한 정보 포함)
-        String data = String.format(
-            "{\"type\":\"new_notice\",\"noticeId\":%d,\"siteId\":\"%s\",\"siteName\":\"%s\",\"title\":\"%s\",\"url\":\"%s\",\"publishedAt\":\"%s\"}", 
-            notice.getId(), 
-            site.getId(), 
-            site.getName(),
-            notice.getTitle().replace("\"", "\\\""), // JSON 이스케이프
-            notice.getUrl() != null ? notice.getUrl() : "",
-            notice.getPublishedAt() != null ? notice.getPublishedAt().toString() : ""
-        );
+        int tokenCount = targets.size();
+        sendsPerNotice.record((double) tokenCount / entries.size());
+        if (subscriptionCount > perNoticeSends) {
+            deduplicatedSends.increment(subscriptionCount - perNoticeSends);
+        }
+        if (perNoticeSends > tokenCount) {
+            coalescedSends.increment(perNoticeSends - tokenCount);
+            logger.info("📦 기기별 묶음 발송: 공지 {}개, 공지별 발송 {}건 → 기기별 {}건", entries.size(), perNoticeSends, tokenCount);
+        }
         
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (Subscription subscription : subscriptions) {
-            try {
-                boolean success = firebaseService.sendNotification(
-                        subscription.getFcmToken(),
-                        title,
-                        body,
-                        data
-                );
+        // 그룹별 500개 단위 배치를 FCM 발송 큐에 넣음 (중요 공지가 포함된 그룹은 high 레인)
+        List<CompletableFuture<FirebaseService.MulticastResult>> futures = new ArrayList<>();
+        try {
+            for (Map.Entry<List<Integer>, List<String>> group : tokensByEntries.entrySet()) {
+                List<NotificationOutbox> groupEntries = new ArrayList<>(group.getKey().size());
+                boolean important = false;
+                for (int index : group.getKey()) {
+                    groupEntries.add(entries.get(index));
+                    important |= entries.get(index).isImportant();
+                }
+                NotificationMessage message = groupEntries.size() == 1
+                        ? NotificationMessage.single(groupEntries.get(0), objectMapper)
+                        : NotificationMessage.digest(groupEntries, objectMapper);
                 
-                if (success) {
-                    subscription.setLastNotified(LocalDateTime.now());
-                    subscriptionRepository.save(subscription);
-                    successCount++;
-                    logger.debug("✅ 알림 발송 성공: [{}] {} -> {}", site.getName(), notice.getTitle(), subscription.getDeviceId());
+                List<String> tokens = group.getValue();
+                for (int from = 0; from < tokens.size(); from += FirebaseService.MULTICAST_BATCH_SIZE) {
+                    List<String> batch = tokens.subList(from, Math.min(from + FirebaseService.MULTICAST_BATCH_SIZE, tokens.size()));
+                    futures.add(fcmDispatcher.submit(batch, message, important));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("알림 발송이 중단되었습니다: {}개 배치 제출됨", futures.size());
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        
+        int successCount = 0;
+        List<FirebaseService.TokenResult> allResults = new ArrayList<>(tokenCount);
+        List<Long> notifiedIds = new ArrayList<>(tokenCount);
+        for (CompletableFuture<FirebaseService.MulticastResult> future : futures) {
+            FirebaseService.MulticastResult result = future.join();
+            successCount += result.getSuccessCount();
+            allResults.addAll(result.getResults());
+            
+            // 토큰별 결과를 해당 토큰의 구독들과 매칭
+            for (FirebaseService.TokenResult tokenResult : result.getResults()) {
+                List<Long> subscriptionIds = targets.get(tokenResult.getToken()).subscriptionIds;
+                if (tokenResult.isSuccess()) {
+                    notifiedIds.addAll(subscriptionIds);
                 } else {
-                    failureCount++;
-                    logger.warn("❌ 알림 발송 실패: [{}] {} -> {}", site.getName(), notice.getTitle(), subscription.getDeviceId());
+                    logger.warn("❌ 알림 발송 실패: 구독 {}: {} ({})",
+                            subscriptionIds, tokenResult.getError(), tokenResult.getErrorCode());
                 }
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("❌ 알림 발송 중 오류: [{}] {} -> {}: {}", 
-                        site.getName(), notice.getTitle(), subscription.getDeviceId(), e.getMessage());
             }
         }
         
-        logger.info("📱 알림 발송 완료: [{}] '{}' -> 성공: {}/{}", 
-                site.getName(), notice.getTitle(), successCount, subscriptions.size());
+        // 일시적인 오류로 받지 못한 토큰과 (중단되어) 제출하지 못한 토큰만 항목별 재시도 대상으로 남김
+        // (이후 단계에서 예외가 나 항목 전체가 재시도되어도 이 토큰들에만 보낸다)
+        List<Set<String>> pendingByEntry = new ArrayList<>(entries.size());
+        for (int e = 0; e < entries.size(); e++) {
+            pendingByEntry.add(new LinkedHashSet<>());
+        }
+        Set<String> answered = new HashSet<>(allResults.size() * 2);
+        for (FirebaseService.TokenResult tokenResult : allResults) {
+            answered.add(tokenResult.getToken());
+            if (tokenResult.isRetryable()) {
+                for (int index : targets.get(tokenResult.getToken()).entryIndexes) {
+                    pendingByEntry.get(index).add(tokenResult.getToken());
+                }
+            }
+        }
+        int pendingCount = 0;
+        for (Map.Entry<String, TokenTarget> target : targets.entrySet()) {
+            if (!answered.contains(target.getKey())) {
+                for (int index : target.getValue().entryIndexes) {
+                    pendingByEntry.get(index).add(target.getKey());
+                }
+            }
+        }
+        for (int e = 0; e < entries.size(); e++) {
+            entries.get(e).setPendingTokens(pendingByEntry.get(e));
+            pendingCount += pendingByEntry.get(e).size();
+        }
+        if (pendingCount > 0) {
+            logger.warn("🔁 일시 오류로 받지 못한 토큰만 재시도 예정: 항목별 토큰 {}개", pendingCount);
+        }
+        
+        updateLastNotified(notifiedIds, LocalDateTime.now());
+        int failureCount = tokenCount - successCount;
+        
+        logger.info("📱 알림 발송 완료: 공지 {}개 -> 성공: {}/{}", entries.size(), successCount, tokenCount);
         
         if (failureCount > 0) {
             logger.warn("⚠️ 알림 발송 실패: {}개", failureCount);
+            invalidTokenPruner.prune(allResults);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * 발송 성공한 구독들의 lastNotified 를 일괄 UPDATE (IN 절 크기는 LAST_NOTIFIED_CHUNK_SIZE 로 제한)
+     */
+    private void updateLastNotified(List<Long> subscriptionIds, LocalDateTime notifiedAt) {
+        for (int from = 0; from < subscriptionIds.size(); from += LAST_NOTIFIED_CHUNK_SIZE) {
+            List<Long> chunk = subscriptionIds.subList(from, Math.min(from + LAST_NOTIFIED_CHUNK_SIZE, subscriptionIds.size()));
+            subscriptionRepository.updateLastNotified(chunk, notifiedAt);
         }
     }
     
@@ -106,11 +262,12 @@ public class NotificationService {
         String body = "알리알리 서비스가 정상적으로 작동하고 있습니다!";
         String data = "{\"type\":\"test\",\"timestamp\":\"" + LocalDateTime.now() + "\"}";
         
-        boolean success = firebaseService.sendNotification(fcmToken, title, body, data);
-        if (success) {
+        FirebaseService.TokenResult result = firebaseService.send(fcmToken, title, body, data);
+        if (result.isSuccess()) {
             logger.info("Test notification sent successfully to device: {}", deviceId);
         } else {
             logger.error("Failed to send test notification to device: {}", deviceId);
+            invalidTokenPruner.prune(List.of(result));
         }
     }
     
@@ -120,19 +277,36 @@ public class NotificationService {
             return;
         }
         
-        List<String> fcmTokens = subscriptionRepository.findDistinctActiveFcmTokens();
+        List<String> fcmTokens = subscriberIndex.distinctTokens();
         if (fcmTokens.isEmpty()) {
             logger.info("No active FCM tokens found for bulk notification");
             return;
         }
         
-        String[] tokenArray = fcmTokens.toArray(new String[0]);
-        boolean success = firebaseService.sendNotificationToMultiple(tokenArray, title, body, data);
+        NotificationMessage message = NotificationMessage.of(title, body, data);
+        List<CompletableFuture<FirebaseService.MulticastResult>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < fcmTokens.size(); from += FirebaseService.MULTICAST_BATCH_SIZE) {
+                List<String> batch = fcmTokens.subList(from, Math.min(from + FirebaseService.MULTICAST_BATCH_SIZE, fcmTokens.size()));
+                futures.add(fcmDispatcher.submit(batch, message, false));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("전체 알림 발송이 중단되었습니다: {}개 배치 제출됨", futures.size());
+        }
+        
+        List<FirebaseService.TokenResult> results = new ArrayList<>(fcmTokens.size());
+        for (CompletableFuture<FirebaseService.MulticastResult> future : futures) {
+            results.addAll(future.join().getResults());
+        }
+        FirebaseService.MulticastResult result = new FirebaseService.MulticastResult(results);
         
-        if (success) {
+        if (result.getFailureCount() == 0) {
             logger.info("Bulk notification sent successfully to {} devices", fcmTokens.size());
         } else {
-            logger.error("Failed to send bulk notification to some devices");
+            logger.error("Failed to send bulk notification to some devices: {}/{} failed",
+                    result.getFailureCount(), fcmTokens.size());
+            invalidTokenPruner.prune(result.getResults());
         }
     }
 }
@@ -0,0 +1,324 @@
+package com.aliali.notice.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.aliali.notice.entity.Site;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 게시판 페이지 조건부 요청 (ETag / Last-Modified / 본문 해시)
+ * 모든 사이트가 하나의 HttpClient(HTTP/2, keep-alive 커넥션 풀)를 공유하고,
+ * 호스트별 동시 요청 수/요청 간격은 HostRateLimiter 가 제한한다.
+ * 304 응답이거나 본문 해시가 이전과 같으면 파싱하지 않고 변경 없음으로 반환한다.
+ *
+ * crawler.parse-mode=streaming 이면 응답을 읽는 대로 파싱해서 selector 에 맞는 행을
+ * crawler.max-posts 개 모으는 즉시 다운로드와 파싱을 중단한다. 이때 해시는 본문 전체가 아닌
+ * 수집한 행들의 HTML 로 계산한다.
+ */
+@Component
+public class PageFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageFetcher.class);
+
+    public static final String MODE_FULL = "full";
+    public static final String MODE_STREAMING = "streaming";
+
+    static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    // 헤더에 charset 이 없을 때 meta 태그를 찾는 본문 앞부분 크기 (Jsoup 과 같은 5KB)
+    private static final int CHARSET_SNIFF_BYTES = 5 * 1024;
+
+    // <meta charset="..."> 또는 <meta http-equiv="Content-Type" content="text/html; charset=...">
+    private static final Pattern META_CHARSET = Pattern.compile(
+            "<meta[^>]*?charset\\s*=\\s*[\"']?([A-Za-z0-9._:-]+)", Pattern.CASE_INSENSITIVE);
+
+    @Value("${crawler.request-timeout:10000}")
+    private int requestTimeout;
+
+    @Value("${crawler.http.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${crawler.parse-mode:full}")
+    private String parseMode;
+
+    @Value("${crawler.max-posts:10}")
+    private int maxPosts;
+
+    @Autowired
+    private ExtractionPlanCache planCache;
+
+    @Autowired
+    private HostRateLimiter hostRateLimiter;
+
+    private HttpClient httpClient;
+
+    // 페이지 요청 결과
+    public static class FetchResult {
+        private final boolean unchanged;
+        private final Document document;
+        private final List<Element> rows;
+        private final String etag;
+        private final String lastModified;
+        private final String contentHash;
+
+        private FetchResult(boolean unchanged, Document document, List<Element> rows,
+                            String etag, String lastModified, String contentHash) {
+            this.unchanged = unchanged;
+            this.document = document;
+            this.rows = rows;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        public static FetchResult unchanged() {
+            return new FetchResult(true, null, null, null, null, null);
+        }
+
+        public static FetchResult changed(Document document, String etag, String lastModified, String contentHash) {
+            return new FetchResult(false, document, null, etag, lastModified, contentHash);
+        }
+
+        /**
+         * 스트리밍 파싱으로 selector 에 맞는 행만 수집한 결과
+         */
+        public static FetchResult changedRows(List<Element> rows, String etag, String lastModified, String contentHash) {
+            return new FetchResult(false, null, rows, etag, lastModified, contentHash);
+        }
+
+        public boolean isUnchanged() { return unchanged; }
+        public boolean isStreamed() { return rows != null; }
+        public Document getDocument() { return document; }
+        public List<Element> getRows() { return rows; }
+        public String getEtag() { return etag; }
+        public String getLastModified() { return lastModified; }
+        public String getContentHash() { return contentHash; }
+
+        /**
+         * 다음 조건부 요청에 사용할 검증자를 사이트에 기록
+         */
+        public void applyTo(Site site) {
+            site.setEtag(etag);
+            site.setLastModified(lastModified);
+            site.setContentHash(contentHash);
+        }
+    }
+
+    @PostConstruct
+    public void initialize() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+        logger.info("🌐 크롤링 HttpClient 초기화: 연결 타임아웃 {}ms, 요청 타임아웃 {}ms, 파싱 모드 {}",
+                connectTimeout, requestTimeout, parseMode);
+    }
+
+    /**
+     * 사이트에 저장된 검증자로 조건부 요청
+     */
+    public FetchResult fetch(Site site) throws IOException {
+        URI uri = URI.create(site.getUrl());
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(requestTimeout))
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html,application/xhtml+xml")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+
+        if (site.getEtag() != null) {
+            request.header("If-None-Match", site.getEtag());
+        }
+        if (site.getLastModified() != null) {
+            request.header("If-Modified-Since", site.getLastModified());
+        }
+
+        // 스트리밍 모드는 본문을 다 읽을 때까지 커넥션을 사용하므로 호스트 permit 을 끝까지 유지
+        HostRateLimiter.Permit permit;
+        try {
+            permit = hostRateLimiter.acquire(uri);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + uri, e);
+        }
+
+        try (permit) {
+            HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 304) {
+                    logger.info("⚡ [{}] 304 Not Modified - 파싱 생략", site.getId());
+                    return FetchResult.unchanged();
+                }
+                if (response.statusCode() >= 400) {
+                    throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), site.getUrl());
+                }
+
+                return MODE_STREAMING.equalsIgnoreCase(parseMode)
+                        ? parseStreaming(site, response, decode(response, body))
+                        : parseFull(site, response, decode(response, body).readAllBytes());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + uri, e);
+        }
+    }
+
+    /**
+     * 본문 전체를 읽어 해시 비교 후 Document 로 파싱
+     */
+    private FetchResult parseFull(Site site, HttpResponse<?> response, byte[] body) throws IOException {
+        String contentHash = sha256(body);
+        if (contentHash.equals(site.getContentHash())) {
+            logger.info("⚡ [{}] 본문 해시 동일 - 파싱 생략", site.getId());
+            return FetchResult.unchanged();
+        }
+
+        Document document = Jsoup.parse(new ByteArrayInputStream(body), charsetOf(response), response.uri().toString());
+        return FetchResult.changed(document, etagOf(response), lastModifiedOf(response), contentHash);
+    }
+
+    /**
+     * 읽는 대로 파싱하면서 selector 에 맞는 행을 maxPosts 개 모으면 나머지 다운로드/파싱을 중단
+     */
+    private FetchResult parseStreaming(Site site, HttpResponse<?> response, InputStream body) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(body, CHARSET_SNIFF_BYTES);
+        String charset = charsetOf(response);
+        if (charset == null) {
+            charset = sniffCharset(buffered);
+        }
+        Reader reader = new InputStreamReader(buffered, charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+        Evaluator rowEvaluator = planCache.planFor(site).getRowEvaluator();
+
+        List<Element> rows = new ArrayList<>(maxPosts);
+        MessageDigest digest = sha256Digest();
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(reader, response.uri().toString())) {
+            Element row;
+            while (rows.size() < maxPosts && (row = streamer.selectNext(rowEvaluator)) != null) {
+                rows.add(row);
+                digest.update(row.outerHtml().getBytes(StandardCharsets.UTF_8));
+            }
+            streamer.stop();
+        }
+
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        if (contentHash.equals(site.getContentHash())) {
+            logger.info("⚡ [{}] 상위 {}개 행 해시 동일 - 처리 생략", site.getId(), rows.size());
+            return FetchResult.unchanged();
+        }
+
+        logger.debug("[{}] 스트리밍 파싱: {}개 행 수집 후 중단", site.getId(), rows.size());
+        return FetchResult.changedRows(rows, etagOf(response), lastModifiedOf(response), contentHash);
+    }
+
+    private String etagOf(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag").orElse(null);
+    }
+
+    private String lastModifiedOf(HttpResponse<?> response) {
+        return response.headers().firstValue("Last-Modified").orElse(null);
+    }
+
+    /**
+     * Content-Encoding(gzip/deflate) 해제
+     */
+    private InputStream decode(HttpResponse<?> response, InputStream body) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "", "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    /**
+     * Content-Type 헤더의 charset (없거나 지원하지 않으면 null → Jsoup 이 meta 태그로 판별)
+     */
+    private String charsetOf(HttpResponse<?> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (index < 0) {
+            return null;
+        }
+
+        String charset = contentType.substring(index + "charset=".length()).split(";")[0].replace("\"", "").trim();
+        try {
+            return Charset.isSupported(charset) ? charset : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 헤더에 charset 이 없을 때 본문 앞부분의 BOM / meta 태그로 판별 (전체 파싱 모드에서 Jsoup 이 하는 것과 같은 범위)
+     * 스트림은 읽기 전 위치로 되돌린다 (UTF-8 BOM 은 건너뜀)
+     */
+    static String sniffCharset(BufferedInputStream in) throws IOException {
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = in.readNBytes(CHARSET_SNIFF_BYTES);
+        in.reset();
+
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skipNBytes(3);
+            return StandardCharsets.UTF_8.name();
+        }
+        Matcher matcher = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return Charset.isSupported(matcher.group(1)) ? matcher.group(1) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String sha256(byte[] body) {
+        return HexFormat.of().formatHex(sha256Digest().digest(body));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.aliali.notice.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 사이트별로 이미 확인한 게시물 지문(NoticeFingerprint)을 기억하는 필터
+ * - 사이트마다 최근 capacity-per-site 개만 유지하는 long 링 버퍼 (가장 오래 보지 않은 키부터 밀려남)
+ * - 크롤링마다 페이지의 모든 게시물을 다시 기록해, 고정글처럼 계속 페이지에 남아 있는 글은 밀려나지 않는다
+ * - 크롤링 사이클이 끝날 때와 종료 시 디스크에 스냅샷을 저장하고 시작 시 다시 읽는다
+ * 필터에 없는 게시물만 DB 중복 검사(IN 쿼리) 대상이 되므로, 스냅샷이 없어도 사이트당 쿼리 한 번으로 채워진다.
+ */
+@Component
+public class SeenPostIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeenPostIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x53454E32; // "SEN2" (키: NoticeFingerprint)
+
+    @Value("${crawler.seen.capacity-per-site:200}")
+    private int capacityPerSite;
+
+    @Value("${crawler.seen.snapshot-path:./data/seen-posts.bin}")
+    private String snapshotPath;
+
+    private final Map<String, SiteSeen> sites = new ConcurrentHashMap<>();
+
+    // 마지막 스냅샷 이후 변경 여부
+    private volatile boolean dirty;
+
+    /**
+     * 한 사이트의 최근 게시물 키 (마지막으로 본 순서의 링 버퍼)
+     * 사이트당 수백 개 수준이라 선형 탐색으로 충분하다.
+     */
+    static final class SiteSeen {
+        private final long[] keys;
+        private int size;
+        private int next;
+
+        SiteSeen(int capacity) {
+            this.keys = new long[capacity];
+        }
+
+        synchronized boolean contains(long key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 키를 가장 최근 위치에 기록 (이미 있으면 그 자리에서 옮김)
+         * @return 내용이나 순서가 바뀌었으면 true
+         */
+        synchronized boolean add(long key) {
+            int start = size < keys.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                if (keys[(start + i) % keys.length] == key) {
+                    if (i == size - 1) {
+                        return false;
+                    }
+                    for (int j = i; j < size - 1; j++) {
+                        keys[(start + j) % keys.length] = keys[(start + j + 1) % keys.length];
+                    }
+                    keys[(start + size - 1) % keys.length] = key;
+                    return true;
+                }
+            }
+            keys[next] = key;
+            next = (next + 1) % keys.length;
+            if (size < keys.length) {
+                size++;
+            }
+            return true;
+        }
+
+        /**
+         * 오래된 것부터 순서대로 복사
+         */
+        synchronized long[] toArray() {
+            long[] copy = new long[size];
+            int start = size < keys.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                copy[i] = keys[(start + i) % keys.length];
+            }
+            return copy;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    public boolean contains(String siteId, long fingerprint) {
+        SiteSeen seen = sites.get(siteId);
+        return seen != null && seen.contains(fingerprint);
+    }
+
+    public void markSeen(String siteId, Collection<Long> fingerprints) {
+        SiteSeen seen = sites.computeIfAbsent(siteId, id -> new SiteSeen(capacityPerSite));
+        for (long fingerprint : fingerprints) {
+            if (seen.add(fingerprint)) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * 전체 키 수
+     */
+    public int size() {
+        int total = 0;
+        for (SiteSeen seen : sites.values()) {
+            total += seen.size();
+        }
+        return total;
+    }
+
+    @PostConstruct
+    public void load() {
+        Path path = Paths.get(snapshotPath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                logger.warn("⚠️ 게시물 필터 스냅샷 형식이 올바르지 않아 무시합니다: {}", path);
+                return;
+            }
+            int siteCount = in.readInt();
+            for (int s = 0; s < siteCount; s++) {
+                String siteId = in.readUTF();
+                int count = in.readInt();
+                SiteSeen seen = new SiteSeen(capacityPerSite);
+                for (int i = 0; i < count; i++) {
+                    seen.add(in.readLong());
+                }
+                sites.put(siteId, seen);
+            }
+            logger.info("📂 게시물 필터 스냅샷 로드: 사이트 {}개, 키 {}개", sites.size(), size());
+        } catch (NoSuchFileException e) {
+            logger.info("게시물 필터 스냅샷이 없습니다 - 첫 크롤링에서 DB 확인으로 채웁니다: {}", path);
+        } catch (IOException e) {
+            sites.clear();
+            logger.warn("⚠️ 게시물 필터 스냅샷 로드 실패 - 무시합니다: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 변경이 있으면 스냅샷 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    public synchronized void saveSnapshot() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        Path path = Paths.get(snapshotPath).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                Map<String, SiteSeen> snapshot = Map.copyOf(sites);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, SiteSeen> site : snapshot.entrySet()) {
+                    long[] keys = site.getValue().toArray();
+                    out.writeUTF(site.getKey());
+                    out.writeInt(keys.length);
+                    for (long key : keys) {
+                        out.writeLong(key);
+                    }
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("게시물 필터 스냅샷 저장: {}", path);
+        } catch (IOException e) {
+            dirty = true;
+            logger.warn("⚠️ 게시물 필터 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+}
@@ -0,0 +1,89 @@
+package com.aliali.notice.service;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import com.aliali.notice.entity.Site;
+
+/**
+ * 사이트별 게시물 추출 계획
+ * selector 와 정규식을 미리 컴파일해 두고, 게시물 번호 추출 방법 중 지난번에 성공한 방법을 기억한다.
+ * selector / titleSelector / linkSelector 가 바뀌면 ExtractionPlanCache 가 새로 만든다.
+ */
+public final class SiteExtractionPlan {
+
+    // 게시물 번호 추출 방법 (extractPostNumber 의 시도 순서)
+    public static final int METHOD_DATA_ATTRIBUTE = 0;
+    public static final int METHOD_HREF = 1;
+    public static final int METHOD_NUMBER_CELL = 2;
+    public static final int METHOD_FULL_TEXT = 3;
+    public static final int METHOD_TITLE_HASH = 4;
+    public static final int NO_PREFERRED_METHOD = -1;
+
+    // href 에서 게시물 번호를 찾는 패턴들
+    static final Pattern[] HREF_PATTERNS = {
+        Pattern.compile("[?&](?:no|articleNo|seq|num|id)=(\\d+)", Pattern.CASE_INSENSITIVE),
+        Pattern.compile("/(\\d+)(?:\\?|$|\\.html)", Pattern.CASE_INSENSITIVE),
+        Pattern.compile("article/(\\d+)", Pattern.CASE_INSENSITIVE)
+    };
+    static final Pattern DIGITS = Pattern.compile("\\d+");
+    static final Pattern LONG_NUMBER = Pattern.compile("(\\d{4,})");
+    static final Pattern LEADING_NUMBER = Pattern.compile("^\\d+\\s*");
+    static final Pattern TRAILING_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}.*$");
+    static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    static final Pattern NON_WORD = Pattern.compile("[^\\w\\s가-힣]");
+
+    // 공통 Evaluator (사이트와 무관)
+    static final Evaluator LINK = QueryParser.parse("a");
+    static final Evaluator NUMBER_CELL = QueryParser.parse(".td-num, .num, td:first-child");
+    static final Evaluator IMPORTANT_MARKER = QueryParser.parse(".notice, .important, .urgent");
+    static final Evaluator[] TITLE_CLASSES = {
+        QueryParser.parse(".title"),
+        QueryParser.parse(".subject"),
+        QueryParser.parse(".td-subject"),
+        QueryParser.parse(".board-title")
+    };
+
+    private final String selector;
+    private final String titleSelector;
+    private final String linkSelector;
+    private final Evaluator rowEvaluator;
+
+    private volatile int preferredNumberMethod = NO_PREFERRED_METHOD;
+
+    public SiteExtractionPlan(Site site) {
+        this.selector = site.getSelector();
+        this.titleSelector = site.getTitleSelector();
+        this.linkSelector = site.getLinkSelector();
+        this.rowEvaluator = QueryParser.parse(site.getSelector());
+    }
+
+    /**
+     * 사이트 설정이 이 계획을 만들 때와 같은지 확인
+     */
+    public boolean matches(Site site) {
+        return Objects.equals(selector, site.getSelector())
+            && Objects.equals(titleSelector, site.getTitleSelector())
+            && Objects.equals(linkSelector, site.getLinkSelector());
+    }
+
+    public Evaluator getRowEvaluator() {
+        return rowEvaluator;
+    }
+
+    public int getPreferredNumberMethod() {
+        return preferredNumberMethod;
+    }
+
+    /**
+     * 번호 추출에 성공한 방법 기록 (제목 해시는 항상 성공하므로 기록하지 않음)
+     */
+    public void recordNumberMethod(int method) {
+        if (method != METHOD_TITLE_HASH && method != preferredNumberMethod) {
+            preferredNumberMethod = method;
+        }
+    }
+}
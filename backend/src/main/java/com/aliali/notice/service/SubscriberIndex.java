@@ -0,0 +1,281 @@
+package com.aliali.notice.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.aliali.notice.entity.Subscription;
+import com.aliali.notice.repository.SubscriptionRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 사이트별 활성 구독자 인덱스 (siteId → 구독 ID / FCM 토큰 배열)
+ * 알림 발송 시 DB 조회 없이 토큰을 얻기 위해 사용한다.
+ * 시작 시(모든 싱글톤 생성 직후, @Scheduled 작업이 시작되기 전) 전체를 만들고,
+ * 이후에는 구독 생성/해지 시 증분으로 갱신한다. 첫 재구성이 끝나기 전에는 발송하지 않는다 (ensureReady).
+ * 사이트별 배열은 불변이며 변경 시 새 배열로 교체한다 (copy-on-write).
+ */
+@Component
+public class SubscriberIndex implements SmartInitializingSingleton {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SubscriberIndex.class);
+    
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private volatile Map<String, SiteSubscribers> sites = new ConcurrentHashMap<>();
+    
+    private Timer rebuildTimer;
+    
+    // 첫 재구성이 끝났는지 (그 전의 빈 인덱스로 발송하면 구독자가 없는 것으로 보여 알림이 사라진다)
+    private volatile boolean ready;
+    
+    /**
+     * 한 사이트의 활성 구독자 (ids[i] 와 tokens[i] 가 같은 구독, id 오름차순)
+     */
+    public static final class SiteSubscribers {
+        static final SiteSubscribers EMPTY = new SiteSubscribers(new long[0], new String[0]);
+        
+        private final long[] ids;
+        private final String[] tokens;
+        
+        SiteSubscribers(long[] ids, String[] tokens) {
+            this.ids = ids;
+            this.tokens = tokens;
+        }
+        
+        public int size() { return ids.length; }
+        public long getId(int i) { return ids[i]; }
+        public String getToken(int i) { return tokens[i]; }
+        
+        SiteSubscribers with(long id, String token) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos >= 0) {
+                if (tokens[pos].equals(token)) {
+                    return this;
+                }
+                String[] newTokens = tokens.clone();
+                newTokens[pos] = token;
+                return new SiteSubscribers(ids, newTokens);
+            }
+            int insertAt = -pos - 1;
+            long[] newIds = new long[ids.length + 1];
+            String[] newTokens = new String[tokens.length + 1];
+            System.arraycopy(ids, 0, newIds, 0, insertAt);
+            System.arraycopy(tokens, 0, newTokens, 0, insertAt);
+            newIds[insertAt] = id;
+            newTokens[insertAt] = token;
+            System.arraycopy(ids, insertAt, newIds, insertAt + 1, ids.length - insertAt);
+            System.arraycopy(tokens, insertAt, newTokens, insertAt + 1, tokens.length - insertAt);
+            return new SiteSubscribers(newIds, newTokens);
+        }
+        
+        SiteSubscribers without(long id) {
+            int pos = Arrays.binarySearch(ids, id);
+            if (pos < 0) {
+                return this;
+            }
+            long[] newIds = new long[ids.length - 1];
+            String[] newTokens = new String[tokens.length - 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(tokens, 0, newTokens, 0, pos);
+            System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+            System.arraycopy(tokens, pos + 1, newTokens, pos, tokens.length - pos - 1);
+            return new SiteSubscribers(newIds, newTokens);
+        }
+        
+        SiteSubscribers withoutTokens(Set<String> removed) {
+            int kept = 0;
+            for (String token : tokens) {
+                if (!removed.contains(token)) {
+                    kept++;
+                }
+            }
+            if (kept == tokens.length) {
+                return this;
+            }
+            long[] newIds = new long[kept];
+            String[] newTokens = new String[kept];
+            int j = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                if (!removed.contains(tokens[i])) {
+                    newIds[j] = ids[i];
+                    newTokens[j] = tokens[i];
+                    j++;
+                }
+            }
+            return new SiteSubscribers(newIds, newTokens);
+        }
+        
+        /**
+         * 배열과 토큰 문자열이 차지하는 대략적인 힙 크기 (compressed oops 기준)
+         */
+        long estimateBytes() {
+            long bytes = align(16 + 8L * ids.length) + align(16 + 4L * tokens.length);
+            for (String token : tokens) {
+                bytes += 24 + align(16 + token.length()); // String 객체 + Latin-1 byte[]
+            }
+            return bytes;
+        }
+        
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+    
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("notification.subscriber.index.memory", this, SubscriberIndex::estimateBytes)
+                .description("사이트별 구독자 인덱스의 예상 힙 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("notification.subscriber.index.size", this, index -> index.totalSubscribers())
+                .description("인덱스에 있는 활성 구독 수")
+                .register(meterRegistry);
+        rebuildTimer = Timer.builder("notification.subscriber.index.rebuild")
+                .description("구독자 인덱스 전체 재구성 시간")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 스케줄러(NotificationDispatcher 폴링)가 시작되기 전에 인덱스를 채움
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureReady();
+    }
+    
+    /**
+     * 아직 한 번도 재구성되지 않았으면 재구성을 시도하고 준비 여부를 반환
+     * (실패하면 발송은 보류되고 다음 폴링에서 다시 시도한다)
+     */
+    public boolean ensureReady() {
+        if (ready) {
+            return true;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("❌ 구독자 인덱스 초기화 실패: {}", e.getMessage());
+        }
+        return ready;
+    }
+    
+    /**
+     * DB 의 활성 구독으로 인덱스 전체를 다시 만든다
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        
+        // (id, siteId, fcmToken) - site_id, id 순으로 정렬되어 있음
+        List<Object[]> rows = subscriptionRepository.findActiveSubscriberRows();
+        Map<String, SiteSubscribers> rebuilt = new ConcurrentHashMap<>();
+        int from = 0;
+        while (from < rows.size()) {
+            String siteId = (String) rows.get(from)[1];
+            int to = from;
+            while (to < rows.size() && siteId.equals(rows.get(to)[1])) {
+                to++;
+            }
+            long[] ids = new long[to - from];
+            String[] tokens = new String[to - from];
+            for (int i = from; i < to; i++) {
+                ids[i - from] = (Long) rows.get(i)[0];
+                tokens[i - from] = (String) rows.get(i)[2];
+            }
+            rebuilt.put(siteId, new SiteSubscribers(ids, tokens));
+            from = to;
+        }
+        
+        sites = rebuilt;
+        ready = true;
+        
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("📇 구독자 인덱스 재구성 완료: 사이트 {}개, 구독 {}개, 약 {}KB ({}ms)",
+                sites.size(), rows.size(), estimateBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+    
+    /**
+     * 구독 생성/수정 후 호출 (비활성 구독이면 인덱스에서 제거)
+     */
+    public synchronized void update(Subscription subscription) {
+        String siteId = subscription.getSite().getId();
+        if (Boolean.TRUE.equals(subscription.getIsActive())) {
+            sites.compute(siteId, (key, current) ->
+                    (current != null ? current : SiteSubscribers.EMPTY).with(subscription.getId(), subscription.getFcmToken()));
+        } else {
+            remove(siteId, subscription.getId());
+        }
+    }
+    
+    /**
+     * 구독 해지 후 호출
+     */
+    public synchronized void remove(String siteId, long subscriptionId) {
+        sites.computeIfPresent(siteId, (key, current) -> {
+            SiteSubscribers next = current.without(subscriptionId);
+            return next.size() == 0 ? null : next;
+        });
+    }
+    
+    /**
+     * 무효 토큰으로 비활성화된 구독들을 모든 사이트에서 제거
+     */
+    public synchronized void removeTokens(Set<String> tokens) {
+        for (String siteId : sites.keySet()) {
+            sites.computeIfPresent(siteId, (key, current) -> {
+                SiteSubscribers next = current.withoutTokens(tokens);
+                return next.size() == 0 ? null : next;
+            });
+        }
+    }
+    
+    public SiteSubscribers subscribersOf(String siteId) {
+        return sites.getOrDefault(siteId, SiteSubscribers.EMPTY);
+    }
+    
+    /**
+     * 전체 사이트의 중복 없는 토큰 목록 (전체 공지 발송용)
+     */
+    public List<String> distinctTokens() {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (SiteSubscribers subscribers : sites.values()) {
+            tokens.addAll(Arrays.asList(subscribers.tokens));
+        }
+        return List.copyOf(tokens);
+    }
+    
+    public int totalSubscribers() {
+        int total = 0;
+        for (SiteSubscribers subscribers : sites.values()) {
+            total += subscribers.size();
+        }
+        return total;
+    }
+    
+    public long estimateBytes() {
+        long bytes = 0;
+        for (SiteSubscribers subscribers : sites.values()) {
+            bytes += subscribers.estimateBytes();
+        }
+        return bytes;
+    }
+}
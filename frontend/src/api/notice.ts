@@ -28,6 +28,18 @@ export interface Notice {
   isNew: boolean
 }
 
+export interface NoticeQuery {
+  siteId?: string
+  category?: string
+  isNew?: boolean
+  size?: number
+}
+
+export interface NoticePage {
+  notices: Notice[]
+  nextCursor: string | null
+}
+
 export interface Subscription {
   id: number
   fcmToken: string
@@ -47,12 +59,55 @@ export const noticeApi = {
     return response.data
   },
 
-  // 공지사항 목록 조회
-  getNotices: async (): Promise<Notice[]> => {
-    const response = await apiClient.get('/notices')
+  // 공지사항 목록 한 페이지 조회 (최신순, 다음 페이지 커서는 X-Next-Cursor 헤더)
+  getNoticePage: async (query: NoticeQuery = {}, cursor?: string): Promise<NoticePage> => {
+    const response = await apiClient.get('/notices', {
+      params: { ...query, cursor }
+    })
+    return {
+      notices: response.data,
+      nextCursor: response.headers['x-next-cursor'] ?? null
+    }
+  },
+
+  // 공지 피드 조회 (서버가 미리 만들어 둔 스냅샷, ETag 재검증은 브라우저 HTTP 캐시가 처리)
+  getFeed: async (query: Pick<NoticeQuery, 'siteId' | 'category'> = {}): Promise<Notice[]> => {
+    const path = query.siteId
+      ? `/feed/site/${encodeURIComponent(query.siteId)}`
+      : query.category
+        ? `/feed/category/${encodeURIComponent(query.category)}`
+        : '/feed'
+    const response = await apiClient.get(path)
     return response.data
   },
 
+  // 공지사항 목록 첫 페이지 조회 (다음 페이지는 nextCursor 로 getNoticePage 를 필요할 때 호출)
+  getNotices: async (query: NoticeQuery = {}): Promise<NoticePage> => {
+    // 사이트 또는 카테고리 하나로만 거르는 전체 목록은 피드 스냅샷으로 (한 번에 전부, 다음 페이지 없음)
+    if (query.isNew === undefined && query.size === undefined && !(query.siteId && query.category)) {
+      return { notices: await noticeApi.getFeed(query), nextCursor: null }
+    }
+    return noticeApi.getNoticePage(query)
+  },
+
+  // 새 공지 스트림 구독 (SSE, 끊기면 브라우저가 Last-Event-ID 로 자동 재연결)
+  // onReset: 놓친 공지를 서버가 다시 보낼 수 없을 때 호출 (목록을 새로 받아야 함)
+  openNoticeStream: (
+    siteIds: string[],
+    onNotice: (notice: Notice) => void,
+    onReset: () => void
+  ): EventSource => {
+    const params = new URLSearchParams()
+    siteIds.forEach(siteId => params.append('siteId', siteId))
+    const query = params.toString()
+    const source = new EventSource(`${apiClient.defaults.baseURL}/notices/stream${query ? `?${query}` : ''}`)
+    source.addEventListener('notice', (event) => {
+      onNotice(JSON.parse((event as MessageEvent).data))
+    })
+    source.addEventListener('reset', () => onReset())
+    return source
+  },
+
   // 크롤링 실행
   crawlSites: async (): Promise<string> => {
     const response = await apiClient.post('/crawl')
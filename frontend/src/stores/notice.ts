@@ -1,6 +1,6 @@
 import { defineStore } from 'pinia'
 import { ref, computed } from 'vue'
-import { noticeApi, type Site, type Notice, type Subscription } from '@/api/notice'
+import { noticeApi, type Site, type Notice, type NoticeQuery, type Subscription } from '@/api/notice'
 import firebaseService from '@/services/firebase'
 
 export const useNoticeStore = defineStore('notice', () => {
@@ -13,11 +13,16 @@ export const useNoticeStore = defineStore('notice', () => {
   const fcmToken = ref<string | null>(null)
   const deviceId = ref<string | null>(null)
   const isInitialized = ref(false)
+  // 목록 조건과 다음 페이지 커서 (null 이면 더 없음)
+  const noticeQuery = ref<NoticeQuery>({})
+  const nextCursor = ref<string | null>(null)
+  const loadingMore = ref(false)
 
   // Getters
   const enabledSites = computed(() => sites.value.filter(site => site.enabled))
   const newNotices = computed(() => notices.value.filter(notice => notice.isNew === true))
   const activeSubscriptions = computed(() => subscriptions.value.filter(sub => sub.isActive))
+  const hasMoreNotices = computed(() => nextCursor.value !== null)
 
   // Actions
   const initializeFirebase = async () => {
@@ -74,7 +79,7 @@ export const useNoticeStore = defineStore('notice', () => {
     }
   }
 
-  const fetchNotices = async (forceRefresh = false) => {
+  const fetchNotices = async (forceRefresh = false, query: NoticeQuery = noticeQuery.value) => {
     // 이미 로딩 중이면 중복 호출 방지
     if (loading.value && !forceRefresh) {
       console.log('⚠️ fetchNotices가 이미 실행 중입니다. 중복 호출을 방지합니다.')
@@ -85,7 +90,10 @@ export const useNoticeStore = defineStore('notice', () => {
       console.log('🔍 fetchNotices 시작')
       loading.value = true
       error.value = null
-      const fetchedNotices = await noticeApi.getNotices()
+      const page = await noticeApi.getNotices(query)
+      const fetchedNotices = page.notices
+      noticeQuery.value = query
+      nextCursor.value = page.nextCursor
       console.log('📥 API에서 받은 공지사항 수:', fetchedNotices.length)
       console.log('📥 RealFCMTest 포함 여부:', fetchedNotices.some(n => n.title.includes('RealFCMTest')))
       
@@ -111,6 +119,45 @@ export const useNoticeStore = defineStore('notice', () => {
     }
   }
 
+  // 다음 페이지를 이어서 불러옴 (더 보기 / 스크롤 끝)
+  const loadMoreNotices = async () => {
+    if (!nextCursor.value || loadingMore.value || loading.value) return
+
+    try {
+      loadingMore.value = true
+      const page = await noticeApi.getNoticePage(noticeQuery.value, nextCursor.value)
+      const loaded = new Set(notices.value.map(n => n.id))
+      notices.value = [...notices.value, ...page.notices.filter(n => !loaded.has(n.id))]
+      nextCursor.value = page.nextCursor
+    } catch (err) {
+      error.value = '공지사항을 더 불러오는데 실패했습니다.'
+      console.error('Failed to load more notices:', err)
+    } finally {
+      loadingMore.value = false
+    }
+  }
+
+  // 새 공지 스트림 (FCM 없이도 새로고침 없이 목록에 반영)
+  let noticeStream: EventSource | null = null
+
+  const startNoticeStream = (siteIds: string[] = []) => {
+    stopNoticeStream()
+    noticeStream = noticeApi.openNoticeStream(
+      siteIds,
+      (notice) => {
+        if (!notices.value.some(n => n.id === notice.id)) {
+          notices.value = [notice, ...notices.value]
+        }
+      },
+      () => fetchNotices(true)
+    )
+  }
+
+  const stopNoticeStream = () => {
+    noticeStream?.close()
+    noticeStream = null
+  }
+
   const fetchSubscriptions = async () => {
     if (!deviceId.value) return
     
@@ -210,18 +257,23 @@ export const useNoticeStore = defineStore('notice', () => {
     fcmToken,
     deviceId,
     isInitialized,
+    loadingMore,
     
     // Getters
     enabledSites,
     newNotices,
     activeSubscriptions,
+    hasMoreNotices,
     
     // Actions
     initializeFirebase,
     requestPermissionAndGetToken,
     fetchSites,
     fetchNotices,
+    loadMoreNotices,
     fetchSubscriptions,
+    startNoticeStream,
+    stopNoticeStream,
     crawlSites,
     subscribeToSite,
     unsubscribeFromSite,
@@ -135,7 +135,7 @@ export const useSubscriptionStore = defineStore('subscription', () => {
     try {
       isLoading.value = true
       error.value = null
-      notices.value = await noticeApi.getNotices()
+      notices.value = (await noticeApi.getNotices()).notices
     } catch (err) {
       console.error('공지사항 로드 실패:', err)
       // API 호출 실패 시 기본 공지사항 데이터 사용